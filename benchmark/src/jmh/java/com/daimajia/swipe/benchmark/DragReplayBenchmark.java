@@ -0,0 +1,99 @@
+package com.daimajia.swipe.benchmark;
+
+import com.daimajia.swipe.core.Bounds;
+import com.daimajia.swipe.core.SwipeGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a scripted one second drag at 120Hz through the position math a SwipeLayout runs on every
+ * drag frame: clamp the surface, recompute the open status and lay out the bottom view, then
+ * decide the release. Scores are per frame.
+ *
+ * The script opens the surface past its open position, wobbles, and pulls it back past closed,
+ * so every clamp branch is hit.
+ *
+ * This only times the core math. The replay of real MotionEvents through a SwipeLayout, with its
+ * layout passes, listener calls and budgets, is SwipeLayoutDragReplayTest in the library's unit tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DragReplayBenchmark {
+
+    private static final int FRAMES = 120;
+    private static final int WIDTH = 1080, HEIGHT = 180, DRAG_DISTANCE = 360;
+
+    @Param({"0", "1", "2", "3"})
+    public int edge;
+
+    @Param({"true", "false"})
+    public boolean pullOut;
+
+    private final SwipeGeometry mGeometry = new SwipeGeometry();
+    private final Bounds mSurface = new Bounds();
+    private final Bounds mBottom = new Bounds();
+    //finger offset from the down position, along the drag axis, per frame
+    private int[] mScript;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mGeometry.set(edge, pullOut, 0, 0, WIDTH, HEIGHT, DRAG_DISTANCE);
+        int direction = edge == SwipeGeometry.EDGE_LEFT || edge == SwipeGeometry.EDGE_TOP ? 1 : -1;
+        Random random = new Random(42);
+        mScript = new int[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            //out to 1.25 of the drag distance and back to -0.25, with a few pixels of jitter
+            double phase = Math.sin(Math.PI * i / FRAMES);
+            double travel = i < FRAMES * 3 / 4 ? 1.25 * phase : 1.25 * phase - 0.25;
+            mScript[i] = direction * ((int) (travel * DRAG_DISTANCE) + random.nextInt(5) - 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    public int replayDrag() {
+        SwipeGeometry geometry = mGeometry;
+        boolean horizontal = geometry.isHorizontal();
+        int surfaceLeft = 0, surfaceTop = 0;
+        int status = SwipeGeometry.STATUS_CLOSE;
+        int checksum = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            if (horizontal) {
+                surfaceLeft = geometry.clampSurfaceLeft(mScript[i]);
+                surfaceTop = geometry.clampSurfaceTop(0);
+            } else {
+                surfaceLeft = geometry.clampSurfaceLeft(0);
+                surfaceTop = geometry.clampSurfaceTop(mScript[i]);
+            }
+            int newStatus = geometry.computeStatus(surfaceLeft, surfaceTop);
+            if (newStatus != status) {
+                //where SwipeLayout would dispatch onOpen/onClose/onStartOpen to its listeners
+                status = newStatus;
+                checksum++;
+            }
+            mSurface.set(surfaceLeft, surfaceTop, surfaceLeft + WIDTH, surfaceTop + HEIGHT);
+            if (pullOut) {
+                geometry.bottomAreaViaSurface(true, mSurface, DRAG_DISTANCE, HEIGHT, mBottom);
+            } else {
+                geometry.bottomLayDown(edge, mBottom);
+            }
+            checksum += mBottom.left + mBottom.top;
+        }
+        boolean open = geometry.shouldOpen(0, 0, 50, surfaceLeft, surfaceTop, 0.25f);
+        checksum += geometry.surfaceArea(open, mSurface).left;
+        return checksum;
+    }
+}
@@ -0,0 +1,178 @@
+package com.daimajia.swipe.benchmark;
+
+import com.daimajia.swipe.core.IntConsumer;
+import com.daimajia.swipe.core.OpenItemState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The open-position bookkeeping behind SwipeItemMangerImpl's openItem, closeItem, isOpen,
+ * getOpenItems, forEachOpen and closeAllItems, in Multiple mode, for lists of {@link #size} items of which
+ * {@link #density} are open.
+ *
+ * openItem and closeItem undo themselves within the same invocation, so the number of open
+ * positions stays the same throughout a run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OpenItemStateBenchmark {
+
+    private static final int QUERIES = 1 << 12;
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"0.001", "0.01", "0.1"})
+    public double density;
+
+    private OpenItemState mState;
+    //random positions to query, and positions known to be open and closed
+    private int[] mQueries, mOpen, mClosed;
+    private int mCursor;
+
+    private int mSum;
+    private final IntConsumer mSummer = new IntConsumer() {
+        @Override
+        public void accept(int value) {
+            mSum += value;
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        mState = new OpenItemState();
+        mState.setMultiple(true);
+        fill(mState, size, density, random);
+
+        mQueries = new int[QUERIES];
+        mOpen = new int[QUERIES];
+        mClosed = new int[QUERIES];
+        int open = 0, closed = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            mQueries[i] = random.nextInt(size);
+        }
+        while (open < QUERIES || closed < QUERIES) {
+            int position = random.nextInt(size);
+            if (mState.isOpen(position)) {
+                if (open < QUERIES) mOpen[open++] = position;
+            } else if (closed < QUERIES) {
+                mClosed[closed++] = position;
+            }
+        }
+    }
+
+    static void fill(OpenItemState state, int size, double density, Random random) {
+        int count = (int) (size * density);
+        while (count > 0) {
+            int position = random.nextInt(size);
+            if (!state.isOpen(position)) {
+                state.open(position);
+                count--;
+            }
+        }
+    }
+
+    private int next() {
+        mCursor = (mCursor + 1) & (QUERIES - 1);
+        return mCursor;
+    }
+
+    @Benchmark
+    public boolean isOpen() {
+        return mState.isOpen(mQueries[next()]);
+    }
+
+    @Benchmark
+    public void openItem() {
+        int position = mClosed[next()];
+        mState.open(position);
+        mState.close(position);
+    }
+
+    @Benchmark
+    public void closeItem() {
+        int position = mOpen[next()];
+        mState.close(position);
+        mState.open(position);
+    }
+
+    @Benchmark
+    public List<Integer> getOpenItems() {
+        return mState.getOpenItems();
+    }
+
+    @Benchmark
+    public int getOpenItemsIntoArray(ArrayState array) {
+        return mState.getOpenItems(array.out);
+    }
+
+    @Benchmark
+    public int forEachOpen() {
+        mSum = 0;
+        mState.forEachOpen(mSummer);
+        return mSum;
+    }
+
+    @State(Scope.Thread)
+    public static class ArrayState {
+        int[] out;
+
+        @Setup(Level.Trial)
+        public void setUp(OpenItemStateBenchmark benchmark) {
+            out = new int[benchmark.size];
+        }
+    }
+
+    /**
+     * closeAllItems needs a full set for every invocation. Refilling at Level.Invocation would
+     * timestamp and set up around every clear, which is as short as what it measures, so a batch of
+     * full sets is filled before each iteration and every invocation clears the next one. Its
+     * score is the time for clearing all {@link #BATCH} of them.
+     */
+    @State(Scope.Thread)
+    public static class FullState {
+        static final int BATCH = 16;
+
+        final OpenItemState[] states = new OpenItemState[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(OpenItemStateBenchmark benchmark) {
+            Random random = new Random(42);
+            for (int i = 0; i < BATCH; i++) {
+                if (states[i] == null) {
+                    states[i] = new OpenItemState();
+                    states[i].setMultiple(true);
+                }
+                fill(states[i], benchmark.size, benchmark.density, random);
+            }
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = FullState.BATCH)
+    @Measurement(iterations = 50, batchSize = FullState.BATCH)
+    public OpenItemState closeAllItems(FullState full) {
+        OpenItemState state = full.states[full.next++];
+        state.clear();
+        return state;
+    }
+}
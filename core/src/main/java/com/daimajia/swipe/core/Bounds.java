@@ -0,0 +1,55 @@
+package com.daimajia.swipe.core;
+
+/**
+ * A mutable rectangle, the plain Java counterpart of android.graphics.Rect.
+ */
+public final class Bounds {
+    public int left;
+    public int top;
+    public int right;
+    public int bottom;
+
+    public Bounds() {
+    }
+
+    public Bounds(int left, int top, int right, int bottom) {
+        set(left, top, right, bottom);
+    }
+
+    public void set(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public int width() {
+        return right - left;
+    }
+
+    public int height() {
+        return bottom - top;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Bounds)) return false;
+        Bounds b = (Bounds) o;
+        return left == b.left && top == b.top && right == b.right && bottom == b.bottom;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = left;
+        result = 31 * result + top;
+        result = 31 * result + right;
+        result = 31 * result + bottom;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Bounds(" + left + ", " + top + ", " + right + ", " + bottom + ")";
+    }
+}
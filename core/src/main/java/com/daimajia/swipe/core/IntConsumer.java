@@ -0,0 +1,8 @@
+package com.daimajia.swipe.core;
+
+/**
+ * Receives int values without boxing them.
+ */
+public interface IntConsumer {
+    void accept(int value);
+}
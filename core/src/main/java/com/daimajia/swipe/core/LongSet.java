@@ -0,0 +1,161 @@
+package com.daimajia.swipe.core;
+
+import java.util.Arrays;
+
+/**
+ * A set of longs stored in a single open addressing table, so that adding, removing and querying
+ * never box a value. Iteration order is unspecified.
+ */
+public class LongSet {
+
+    //marks a free slot, the value itself is tracked by mHasEmptyKey
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] mTable;
+    private int mSize;
+    private boolean mHasEmptyKey;
+
+    public LongSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of values the set should hold before it needs to grow.
+     */
+    public LongSet(int expectedSize) {
+        mTable = newTable(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) return mHasEmptyKey;
+        long[] table = mTable;
+        int mask = table.length - 1;
+        for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+            long slot = table[i];
+            if (slot == value) return true;
+            if (slot == EMPTY) return false;
+        }
+    }
+
+    /**
+     * @return true if the set did not contain {@code value} yet.
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (mHasEmptyKey) return false;
+            mHasEmptyKey = true;
+            mSize++;
+            return true;
+        }
+        int mask = mTable.length - 1;
+        int i = hash(value) & mask;
+        for (long slot = mTable[i]; slot != EMPTY; slot = mTable[i]) {
+            if (slot == value) return false;
+            i = (i + 1) & mask;
+        }
+        mTable[i] = value;
+        mSize++;
+        //keep the table at most half full so that probe runs stay short
+        if (mSize * 2 > mTable.length) {
+            rehash(mTable.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the set contained {@code value}.
+     */
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!mHasEmptyKey) return false;
+            mHasEmptyKey = false;
+            mSize--;
+            return true;
+        }
+        long[] table = mTable;
+        int mask = table.length - 1;
+        int i = hash(value) & mask;
+        for (long slot = table[i]; slot != value; slot = table[i]) {
+            if (slot == EMPTY) return false;
+            i = (i + 1) & mask;
+        }
+        //shift the following entries of the probe run back instead of leaving a tombstone
+        int gap = i;
+        for (int j = (i + 1) & mask; table[j] != EMPTY; j = (j + 1) & mask) {
+            int home = hash(table[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                table[gap] = table[j];
+                gap = j;
+            }
+        }
+        table[gap] = EMPTY;
+        mSize--;
+        return true;
+    }
+
+    public void clear() {
+        if (mSize == 0) return;
+        Arrays.fill(mTable, EMPTY);
+        mHasEmptyKey = false;
+        mSize = 0;
+    }
+
+    /**
+     * Copy the values into {@code out}, as many as fit.
+     *
+     * @return the number of values in the set, which may be larger than {@code out.length}.
+     */
+    public int toArray(long[] out) {
+        int n = 0;
+        if (mHasEmptyKey && n < out.length) out[n++] = EMPTY;
+        long[] table = mTable;
+        for (int i = 0; i < table.length && n < out.length; i++) {
+            if (table[i] != EMPTY) out[n++] = table[i];
+        }
+        return mSize;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = mTable;
+        long[] table = newTable(capacity);
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value == EMPTY) continue;
+            int i = hash(value) & mask;
+            while (table[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+        }
+        mTable = table;
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static int hash(long value) {
+        //item ids are often sequential, spread them so neighbours do not share a probe run
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
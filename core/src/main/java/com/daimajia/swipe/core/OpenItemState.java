@@ -0,0 +1,227 @@
+package com.daimajia.swipe.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Which adapter positions are open. In single mode at most one position is open, in multiple mode
+ * any number.
+ */
+public class OpenItemState {
+
+    public static final int INVALID_POSITION = -1;
+
+    private boolean mMultiple = false;
+    private int mOpenPosition = INVALID_POSITION;
+    private final IntSet mOpenPositions = new IntSet();
+    //holds the open positions while they are shifted
+    private int[] mShifted = new int[8];
+
+    private static final int INSERT = 0, REMOVE = 1, MOVE = 2;
+
+    public boolean isMultiple() {
+        return mMultiple;
+    }
+
+    /**
+     * switch between single and multiple mode, forgetting every open position.
+     */
+    public void setMultiple(boolean multiple) {
+        mMultiple = multiple;
+        clear();
+    }
+
+    /**
+     * {@link #INVALID_POSITION} is never open, {@link #open}, {@link #close} and {@link #onClosed}
+     * ignore it.
+     */
+    public void open(int position) {
+        if (position == INVALID_POSITION) return;
+        if (mMultiple) {
+            mOpenPositions.add(position);
+        } else {
+            mOpenPosition = position;
+        }
+    }
+
+    public void close(int position) {
+        if (position == INVALID_POSITION) return;
+        if (mMultiple) {
+            mOpenPositions.remove(position);
+        } else if (mOpenPosition == position) {
+            mOpenPosition = INVALID_POSITION;
+        }
+    }
+
+    /**
+     * the layout showing {@code position} finished closing. In single mode that means nothing is
+     * open any more, whichever position was recorded.
+     */
+    public void onClosed(int position) {
+        if (position == INVALID_POSITION) return;
+        if (mMultiple) {
+            mOpenPositions.remove(position);
+        } else {
+            mOpenPosition = INVALID_POSITION;
+        }
+    }
+
+    public void clear() {
+        mOpenPositions.clear();
+        mOpenPosition = INVALID_POSITION;
+    }
+
+    public boolean isOpen(int position) {
+        if (position == INVALID_POSITION) return false;
+        if (mMultiple) {
+            return mOpenPositions.contains(position);
+        } else {
+            return mOpenPosition == position;
+        }
+    }
+
+    /**
+     * @return the open positions, in single mode a list holding the open position or
+     * {@link #INVALID_POSITION}.
+     */
+    public List<Integer> getOpenItems() {
+        if (mMultiple) {
+            final List<Integer> items = new ArrayList<Integer>(mOpenPositions.size());
+            mOpenPositions.forEach(new IntConsumer() {
+                @Override
+                public void accept(int value) {
+                    items.add(value);
+                }
+            });
+            return items;
+        } else {
+            return Collections.singletonList(mOpenPosition);
+        }
+    }
+
+    /**
+     * hand every open position to {@code consumer}, in no particular order. Unlike
+     * {@link #getOpenItems()} nothing is reported in single mode while no position is open.
+     */
+    public void forEachOpen(IntConsumer consumer) {
+        if (mMultiple) {
+            mOpenPositions.forEach(consumer);
+        } else if (mOpenPosition != INVALID_POSITION) {
+            consumer.accept(mOpenPosition);
+        }
+    }
+
+    /**
+     * Copy the open positions into {@code out}, as many as fit.
+     *
+     * @return the number of open positions, which may be larger than {@code out.length}.
+     */
+    public int getOpenItems(int[] out) {
+        if (mMultiple) {
+            return mOpenPositions.toArray(out);
+        } else if (mOpenPosition != INVALID_POSITION) {
+            if (out.length > 0) out[0] = mOpenPosition;
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * {@link #getOpenItems(int[])} widened to longs.
+     */
+    public int getOpenItems(long[] out) {
+        if (mMultiple) {
+            return mOpenPositions.toArray(out);
+        } else if (mOpenPosition != INVALID_POSITION) {
+            if (out.length > 0) out[0] = mOpenPosition;
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * {@code count} items were inserted at {@code start}, open positions after them move down.
+     */
+    public void onItemRangeInserted(int start, int count) {
+        shift(INSERT, start, 0, count);
+    }
+
+    /**
+     * {@code count} items starting at {@code start} were removed. Their open state is dropped and
+     * open positions after them move up.
+     */
+    public void onItemRangeRemoved(int start, int count) {
+        shift(REMOVE, start, 0, count);
+    }
+
+    /**
+     * {@code count} items were moved from {@code from} to {@code to}.
+     */
+    public void onItemRangeMoved(int from, int to, int count) {
+        shift(MOVE, from, to, count);
+    }
+
+    /**
+     * @return where {@code position} is after inserting {@code count} items at {@code start}.
+     */
+    public static int positionAfterInsert(int position, int start, int count) {
+        return position >= start ? position + count : position;
+    }
+
+    /**
+     * @return where {@code position} is after removing {@code count} items at {@code start},
+     * {@link #INVALID_POSITION} if it was one of them.
+     */
+    public static int positionAfterRemove(int position, int start, int count) {
+        if (position < start) return position;
+        if (position < start + count) return INVALID_POSITION;
+        return position - count;
+    }
+
+    /**
+     * @return where {@code position} is after moving {@code count} items from {@code from} to
+     * {@code to}.
+     */
+    public static int positionAfterMove(int position, int from, int to, int count) {
+        if (position >= from && position < from + count) return position - from + to;
+        if (from < to && position >= from + count && position < to + count) return position - count;
+        if (to < from && position >= to && position < from) return position + count;
+        return position;
+    }
+
+    private static int shiftPosition(int op, int position, int a, int b, int count) {
+        switch (op) {
+            case INSERT:
+                return positionAfterInsert(position, a, count);
+            case REMOVE:
+                return positionAfterRemove(position, a, count);
+            default:
+                return positionAfterMove(position, a, b, count);
+        }
+    }
+
+    //runs in the number of open positions, not in the number of items
+    private void shift(int op, int a, int b, int count) {
+        if (count <= 0) return;
+        if (!mMultiple) {
+            if (mOpenPosition != INVALID_POSITION) {
+                mOpenPosition = shiftPosition(op, mOpenPosition, a, b, count);
+            }
+            return;
+        }
+        int size = mOpenPositions.size();
+        if (size == 0) return;
+        if (mShifted.length < size) {
+            mShifted = new int[Math.max(size, mShifted.length * 2)];
+        }
+        mOpenPositions.toArray(mShifted);
+        mOpenPositions.clear();
+        for (int i = 0; i < size; i++) {
+            int position = shiftPosition(op, mShifted[i], a, b, count);
+            if (position != INVALID_POSITION) {
+                mOpenPositions.add(position);
+            }
+        }
+    }
+}
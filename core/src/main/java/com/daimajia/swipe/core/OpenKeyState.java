@@ -0,0 +1,83 @@
+package com.daimajia.swipe.core;
+
+/**
+ * Which items are open, identified by a stable key instead of their adapter position, so that the
+ * state stays attached to its item when other items are inserted, removed or moved. In single
+ * mode at most one key is open, in multiple mode any number.
+ */
+public class OpenKeyState {
+
+    private boolean mMultiple = false;
+    private boolean mHasOpenKey = false;
+    private long mOpenKey;
+    private final LongSet mOpenKeys = new LongSet();
+
+    public boolean isMultiple() {
+        return mMultiple;
+    }
+
+    /**
+     * switch between single and multiple mode, forgetting every open key.
+     */
+    public void setMultiple(boolean multiple) {
+        mMultiple = multiple;
+        clear();
+    }
+
+    public void open(long key) {
+        if (mMultiple) {
+            mOpenKeys.add(key);
+        } else {
+            mOpenKey = key;
+            mHasOpenKey = true;
+        }
+    }
+
+    public void close(long key) {
+        if (mMultiple) {
+            mOpenKeys.remove(key);
+        } else if (mHasOpenKey && mOpenKey == key) {
+            mHasOpenKey = false;
+        }
+    }
+
+    /**
+     * the layout showing {@code key} finished closing. In single mode that means nothing is open
+     * any more, whichever key was recorded.
+     */
+    public void onClosed(long key) {
+        if (mMultiple) {
+            mOpenKeys.remove(key);
+        } else {
+            mHasOpenKey = false;
+        }
+    }
+
+    public void clear() {
+        mOpenKeys.clear();
+        mHasOpenKey = false;
+    }
+
+    public boolean isOpen(long key) {
+        if (mMultiple) {
+            return mOpenKeys.contains(key);
+        } else {
+            return mHasOpenKey && mOpenKey == key;
+        }
+    }
+
+    /**
+     * Copy the open keys into {@code out}, as many as fit.
+     *
+     * @return the number of open keys, which may be larger than {@code out.length}.
+     */
+    public int getOpenKeys(long[] out) {
+        if (mMultiple) {
+            return mOpenKeys.toArray(out);
+        } else if (mHasOpenKey) {
+            if (out.length > 0) out[0] = mOpenKey;
+            return 1;
+        }
+        return 0;
+    }
+}
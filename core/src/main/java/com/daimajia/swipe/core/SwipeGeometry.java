@@ -0,0 +1,251 @@
+package com.daimajia.swipe.core;
+
+/**
+ * The position math of a swipe layout: where the surface and the bottom view are laid out, how
+ * far they may be dragged, and whether a release opens or closes.
+ *
+ * An instance describes one layout and is updated with {@link #set} before it is asked anything.
+ * Edges are the ordinals of SwipeLayout.DragEdge.
+ */
+public final class SwipeGeometry {
+
+    public static final int EDGE_LEFT = 0;
+    public static final int EDGE_TOP = 1;
+    public static final int EDGE_RIGHT = 2;
+    public static final int EDGE_BOTTOM = 3;
+
+    public static final int STATUS_MIDDLE = 0;
+    public static final int STATUS_OPEN = 1;
+    public static final int STATUS_CLOSE = 2;
+
+    private int mEdge = EDGE_RIGHT;
+    private boolean mPullOut = true;
+    private int mPaddingLeft, mPaddingTop;
+    private int mWidth, mHeight;
+    private int mDragDistance;
+
+    /**
+     * @param edge         the current drag edge.
+     * @param pullOut      true for ShowMode.PullOut, false for LayDown.
+     * @param width        the measured width of the layout.
+     * @param height       the measured height of the layout.
+     * @param dragDistance how far the surface travels between closed and open.
+     */
+    public void set(int edge, boolean pullOut, int paddingLeft, int paddingTop, int width, int height,
+                    int dragDistance) {
+        mEdge = edge;
+        mPullOut = pullOut;
+        mPaddingLeft = paddingLeft;
+        mPaddingTop = paddingTop;
+        mWidth = width;
+        mHeight = height;
+        mDragDistance = dragDistance;
+    }
+
+    public int getEdge() {
+        return mEdge;
+    }
+
+    public int getDragDistance() {
+        return mDragDistance;
+    }
+
+    public boolean isHorizontal() {
+        return mEdge == EDGE_LEFT || mEdge == EDGE_RIGHT;
+    }
+
+    /**
+     * @return the left of the surface, limited to the range between closed and open.
+     */
+    public int clampSurfaceLeft(int left) {
+        switch (mEdge) {
+            case EDGE_TOP:
+            case EDGE_BOTTOM:
+                return mPaddingLeft;
+            case EDGE_LEFT:
+                if (left < mPaddingLeft) return mPaddingLeft;
+                if (left > mPaddingLeft + mDragDistance) return mPaddingLeft + mDragDistance;
+                break;
+            case EDGE_RIGHT:
+                if (left > mPaddingLeft) return mPaddingLeft;
+                if (left < mPaddingLeft - mDragDistance) return mPaddingLeft - mDragDistance;
+                break;
+        }
+        return left;
+    }
+
+    public int clampSurfaceTop(int top) {
+        switch (mEdge) {
+            case EDGE_LEFT:
+            case EDGE_RIGHT:
+                return mPaddingTop;
+            case EDGE_TOP:
+                if (top < mPaddingTop) return mPaddingTop;
+                if (top > mPaddingTop + mDragDistance) return mPaddingTop + mDragDistance;
+                break;
+            case EDGE_BOTTOM:
+                if (top < mPaddingTop - mDragDistance) return mPaddingTop - mDragDistance;
+                if (top > mPaddingTop) return mPaddingTop;
+                break;
+        }
+        return top;
+    }
+
+    /**
+     * @return the left of the current bottom view while it is dragged itself.
+     */
+    public int clampBottomLeft(int left) {
+        switch (mEdge) {
+            case EDGE_TOP:
+            case EDGE_BOTTOM:
+                return mPaddingLeft;
+            case EDGE_LEFT:
+                if (mPullOut && left > mPaddingLeft) return mPaddingLeft;
+                break;
+            case EDGE_RIGHT:
+                if (mPullOut && left < mWidth - mDragDistance) return mWidth - mDragDistance;
+                break;
+        }
+        return left;
+    }
+
+    /**
+     * @param surfaceTop the current top of the surface, which a LayDown drag moves instead.
+     * @param dy         the distance of this drag step.
+     */
+    public int clampBottomTop(int top, int surfaceTop, int dy) {
+        switch (mEdge) {
+            case EDGE_LEFT:
+            case EDGE_RIGHT:
+                return mPaddingTop;
+            case EDGE_TOP:
+                if (mPullOut) {
+                    if (top > mPaddingTop) return mPaddingTop;
+                } else {
+                    if (surfaceTop + dy < mPaddingTop) return mPaddingTop;
+                    if (surfaceTop + dy > mPaddingTop + mDragDistance) return mPaddingTop + mDragDistance;
+                }
+                break;
+            case EDGE_BOTTOM:
+                if (mPullOut) {
+                    if (top < mHeight - mDragDistance) return mHeight - mDragDistance;
+                } else {
+                    if (surfaceTop + dy >= mPaddingTop) return mPaddingTop;
+                    if (surfaceTop + dy <= mPaddingTop - mDragDistance) return mPaddingTop - mDragDistance;
+                }
+                break;
+        }
+        return top;
+    }
+
+    /**
+     * Decide where a released surface settles. A fling faster than {@code minVelocity} wins,
+     * otherwise the surface opens once it is revealed by more than {@code willOpenPercent}.
+     *
+     * @return true to open, false to close.
+     */
+    public boolean shouldOpen(float xvel, float yvel, float minVelocity, int surfaceLeft, int surfaceTop,
+                              float willOpenPercent) {
+        float velocity, offset;
+        switch (mEdge) {
+            case EDGE_LEFT:
+                velocity = xvel;
+                offset = surfaceLeft;
+                break;
+            case EDGE_RIGHT:
+                velocity = -xvel;
+                offset = -surfaceLeft;
+                break;
+            case EDGE_TOP:
+                velocity = yvel;
+                offset = surfaceTop;
+                break;
+            default:
+                velocity = -yvel;
+                offset = -surfaceTop;
+                break;
+        }
+        if (velocity > minVelocity) return true;
+        if (velocity < -minVelocity) return false;
+        return offset / mDragDistance > willOpenPercent;
+    }
+
+    /**
+     * @return one of {@link #STATUS_CLOSE}, {@link #STATUS_OPEN} and {@link #STATUS_MIDDLE} for a
+     * surface at {@code surfaceLeft}, {@code surfaceTop}.
+     */
+    public int computeStatus(int surfaceLeft, int surfaceTop) {
+        if (surfaceLeft == mPaddingLeft && surfaceTop == mPaddingTop) return STATUS_CLOSE;
+        if (surfaceLeft == mPaddingLeft - mDragDistance || surfaceLeft == mPaddingLeft + mDragDistance
+                || surfaceTop == mPaddingTop - mDragDistance || surfaceTop == mPaddingTop + mDragDistance)
+            return STATUS_OPEN;
+        return STATUS_MIDDLE;
+    }
+
+    /**
+     * @return {@code out}, set to the area of the surface when open or closed.
+     */
+    public Bounds surfaceArea(boolean open, Bounds out) {
+        int l = mPaddingLeft, t = mPaddingTop;
+        if (open) {
+            if (mEdge == EDGE_LEFT) l = mPaddingLeft + mDragDistance;
+            else if (mEdge == EDGE_RIGHT) l = mPaddingLeft - mDragDistance;
+            else if (mEdge == EDGE_TOP) t = mPaddingTop + mDragDistance;
+            else t = mPaddingTop - mDragDistance;
+        }
+        out.set(l, t, l + mWidth, t + mHeight);
+        return out;
+    }
+
+    /**
+     * @return {@code out}, set to the area of the current bottom view next to (PullOut) or
+     * under (LayDown) a surface at {@code surface}.
+     */
+    public Bounds bottomAreaViaSurface(boolean pullOut, Bounds surface, int bottomWidth, int bottomHeight,
+                                       Bounds out) {
+        int bl = surface.left, bt = surface.top, br = surface.right, bb = surface.bottom;
+        if (pullOut) {
+            if (mEdge == EDGE_LEFT) bl = surface.left - mDragDistance;
+            else if (mEdge == EDGE_RIGHT) bl = surface.right;
+            else if (mEdge == EDGE_TOP) bt = surface.top - mDragDistance;
+            else bt = surface.bottom;
+
+            if (mEdge == EDGE_LEFT || mEdge == EDGE_RIGHT) {
+                bb = surface.bottom;
+                br = bl + bottomWidth;
+            } else {
+                bb = bt + bottomHeight;
+                br = surface.right;
+            }
+        } else {
+            if (mEdge == EDGE_LEFT) br = bl + mDragDistance;
+            else if (mEdge == EDGE_RIGHT) bl = br - mDragDistance;
+            else if (mEdge == EDGE_TOP) bb = bt + mDragDistance;
+            else bt = bb - mDragDistance;
+        }
+        out.set(bl, bt, br, bb);
+        return out;
+    }
+
+    /**
+     * @return {@code out}, set to the area of the bottom view of {@code edge} in LayDown mode.
+     */
+    public Bounds bottomLayDown(int edge, Bounds out) {
+        int bl = mPaddingLeft, bt = mPaddingTop;
+        int br, bb;
+        if (edge == EDGE_RIGHT) {
+            bl = mWidth - mDragDistance;
+        } else if (edge == EDGE_BOTTOM) {
+            bt = mHeight - mDragDistance;
+        }
+        if (edge == EDGE_LEFT || edge == EDGE_RIGHT) {
+            br = bl + mDragDistance;
+            bb = bt + mHeight;
+        } else {
+            br = bl + mWidth;
+            bb = bt + mDragDistance;
+        }
+        out.set(bl, bt, br, bb);
+        return out;
+    }
+}
@@ -0,0 +1,190 @@
+package com.daimajia.swipe.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntSetTest {
+
+    //a set sized for 4 values has a table of 8 slots
+    private static final int MASK = 7;
+
+    @Test
+    public void addsAndRemovesOnce() {
+        IntSet set = new IntSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(3));
+        assertFalse(set.add(3));
+        assertTrue(set.contains(3));
+        assertEquals(1, set.size());
+        assertTrue(set.remove(3));
+        assertFalse(set.remove(3));
+        assertFalse(set.contains(3));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void holdsTheEmptySlotMarker() {
+        IntSet set = new IntSet();
+        assertFalse(set.contains(Integer.MIN_VALUE));
+        assertTrue(set.add(Integer.MIN_VALUE));
+        assertFalse(set.add(Integer.MIN_VALUE));
+        assertTrue(set.add(0));
+        assertEquals(2, set.size());
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 0}, sorted(set));
+        assertTrue(set.remove(Integer.MIN_VALUE));
+        assertFalse(set.contains(Integer.MIN_VALUE));
+        assertTrue(set.contains(0));
+    }
+
+    @Test
+    public void probesPastCollisionsAndWrapsAround() {
+        //three values that all want the last slot, so the run wraps to the start of the table
+        int[] values = valuesWithHome(MASK, 3);
+        IntSet set = new IntSet(4);
+        for (int value : values) {
+            assertTrue(set.add(value));
+        }
+        for (int value : values) {
+            assertTrue(set.contains(value));
+        }
+        assertFalse(set.contains(valuesWithHome(MASK, 4)[3]));
+    }
+
+    @Test
+    public void removingFromARunKeepsTheRestReachable() {
+        //a run of values homed at 6 and 7, wrapping around the end of the table
+        int[] sixes = valuesWithHome(6, 2);
+        int[] sevens = valuesWithHome(MASK, 2);
+        int[] run = {sixes[0], sevens[0], sixes[1], sevens[1]};
+        for (int removed = 0; removed < run.length; removed++) {
+            IntSet set = new IntSet(4);
+            for (int value : run) {
+                set.add(value);
+            }
+            assertTrue(set.remove(run[removed]));
+            for (int i = 0; i < run.length; i++) {
+                assertEquals("value " + i + " after removing " + removed, i != removed, set.contains(run[i]));
+            }
+            //and the freed slot is usable again
+            assertTrue(set.add(run[removed]));
+            assertEquals(run.length, set.size());
+        }
+    }
+
+    @Test
+    public void growsAndKeepsEveryValue() {
+        IntSet set = new IntSet();
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(set.add(i * 31));
+        }
+        assertEquals(10000, set.size());
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(set.contains(i * 31));
+            assertFalse(set.contains(i * 31 + 1));
+        }
+        for (int i = 0; i < 10000; i += 2) {
+            assertTrue(set.remove(i * 31));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i % 2 == 1, set.contains(i * 31));
+        }
+    }
+
+    @Test
+    public void copiesAsManyAsFit() {
+        IntSet set = new IntSet();
+        set.add(1);
+        set.add(2);
+        set.add(3);
+        int[] out = new int[2];
+        assertEquals(3, set.toArray(out));
+        assertTrue(set.contains(out[0]) && set.contains(out[1]) && out[0] != out[1]);
+        assertEquals(3, set.toArray(new int[0]));
+    }
+
+    @Test
+    public void widensIntoLongs() {
+        IntSet set = new IntSet();
+        set.add(-7);
+        set.add(Integer.MIN_VALUE);
+        long[] out = new long[3];
+        assertEquals(2, set.toArray(out));
+        Arrays.sort(out, 0, 2);
+        assertArrayEquals(new long[]{Integer.MIN_VALUE, -7, 0}, out);
+    }
+
+    @Test
+    public void visitsEveryValue() {
+        IntSet set = new IntSet();
+        final Set<Integer> visited = new HashSet<Integer>();
+        for (int i = -5; i < 5; i++) {
+            set.add(i);
+        }
+        set.forEach(new IntConsumer() {
+            @Override
+            public void accept(int value) {
+                visited.add(value);
+            }
+        });
+        assertEquals(10, visited.size());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void behavesLikeAHashSet() {
+        Random random = new Random(7);
+        IntSet set = new IntSet();
+        Set<Integer> expected = new HashSet<Integer>();
+        for (int i = 0; i < 200000; i++) {
+            //a small range, so runs form, collide and are deleted from all the time
+            int value = random.nextInt(16) == 0 ? Integer.MIN_VALUE : random.nextInt(300) - 20;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.add(value), set.add(value));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(value), set.remove(value));
+                    break;
+                default:
+                    assertEquals(expected.contains(value), set.contains(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        int[] values = new int[expected.size()];
+        int i = 0;
+        for (int value : expected) {
+            values[i++] = value;
+        }
+        Arrays.sort(values);
+        assertArrayEquals(values, sorted(set));
+    }
+
+    private static int[] valuesWithHome(int slot, int count) {
+        int[] values = new int[count];
+        int found = 0;
+        for (int value = 0; found < count; value++) {
+            if ((IntSet.hash(value) & MASK) == slot) {
+                values[found++] = value;
+            }
+        }
+        return values;
+    }
+
+    private static int[] sorted(IntSet set) {
+        int[] values = new int[set.size()];
+        set.toArray(values);
+        Arrays.sort(values);
+        return values;
+    }
+}
@@ -0,0 +1,151 @@
+package com.daimajia.swipe.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongSetTest {
+
+    //a set sized for 4 values has a table of 8 slots
+    private static final int MASK = 7;
+
+    @Test
+    public void addsAndRemovesOnce() {
+        LongSet set = new LongSet();
+        assertTrue(set.add(1L << 40));
+        assertFalse(set.add(1L << 40));
+        assertTrue(set.contains(1L << 40));
+        assertFalse(set.contains(0));
+        assertTrue(set.remove(1L << 40));
+        assertFalse(set.remove(1L << 40));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void holdsTheEmptySlotMarker() {
+        LongSet set = new LongSet();
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(Long.MIN_VALUE));
+        assertTrue(set.add(0));
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0}, sorted(set));
+        assertTrue(set.remove(Long.MIN_VALUE));
+        assertFalse(set.contains(Long.MIN_VALUE));
+        assertTrue(set.contains(0));
+    }
+
+    @Test
+    public void probesPastCollisionsAndWrapsAround() {
+        long[] values = valuesWithHome(MASK, 3);
+        LongSet set = new LongSet(4);
+        for (long value : values) {
+            assertTrue(set.add(value));
+        }
+        for (long value : values) {
+            assertTrue(set.contains(value));
+        }
+        assertFalse(set.contains(valuesWithHome(MASK, 4)[3]));
+    }
+
+    @Test
+    public void removingFromARunKeepsTheRestReachable() {
+        long[] sixes = valuesWithHome(6, 2);
+        long[] sevens = valuesWithHome(MASK, 2);
+        long[] run = {sixes[0], sevens[0], sixes[1], sevens[1]};
+        for (int removed = 0; removed < run.length; removed++) {
+            LongSet set = new LongSet(4);
+            for (long value : run) {
+                set.add(value);
+            }
+            assertTrue(set.remove(run[removed]));
+            for (int i = 0; i < run.length; i++) {
+                assertEquals("value " + i + " after removing " + removed, i != removed, set.contains(run[i]));
+            }
+            assertTrue(set.add(run[removed]));
+            assertEquals(run.length, set.size());
+        }
+    }
+
+    @Test
+    public void growsAndKeepsEveryValue() {
+        LongSet set = new LongSet();
+        //sequential ids in the upper half, as database ids tend to be
+        long base = 1L << 33;
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(set.add(base + i));
+        }
+        assertEquals(10000, set.size());
+        for (int i = 0; i < 10000; i += 2) {
+            assertTrue(set.remove(base + i));
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i % 2 == 1, set.contains(base + i));
+        }
+    }
+
+    @Test
+    public void copiesAsManyAsFit() {
+        LongSet set = new LongSet();
+        set.add(1);
+        set.add(2);
+        set.add(3);
+        long[] out = new long[2];
+        assertEquals(3, set.toArray(out));
+        assertTrue(set.contains(out[0]) && set.contains(out[1]) && out[0] != out[1]);
+        set.clear();
+        assertEquals(0, set.toArray(out));
+    }
+
+    @Test
+    public void behavesLikeAHashSet() {
+        Random random = new Random(7);
+        LongSet set = new LongSet();
+        Set<Long> expected = new HashSet<Long>();
+        for (int i = 0; i < 200000; i++) {
+            long value = random.nextInt(16) == 0 ? Long.MIN_VALUE : (random.nextInt(300) - 20) * (1L << 31);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.add(value), set.add(value));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(value), set.remove(value));
+                    break;
+                default:
+                    assertEquals(expected.contains(value), set.contains(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        long[] values = new long[expected.size()];
+        int i = 0;
+        for (long value : expected) {
+            values[i++] = value;
+        }
+        Arrays.sort(values);
+        assertArrayEquals(values, sorted(set));
+    }
+
+    private static long[] valuesWithHome(int slot, int count) {
+        long[] values = new long[count];
+        int found = 0;
+        for (long value = 1L << 32; found < count; value++) {
+            if ((LongSet.hash(value) & MASK) == slot) {
+                values[found++] = value;
+            }
+        }
+        return values;
+    }
+
+    private static long[] sorted(LongSet set) {
+        long[] values = new long[set.size()];
+        set.toArray(values);
+        Arrays.sort(values);
+        return values;
+    }
+}
@@ -0,0 +1,143 @@
+package com.daimajia.swipe.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OpenItemStateTest {
+
+    private static final int INVALID = OpenItemState.INVALID_POSITION;
+
+    @Test
+    public void insertMovesPositionsFromTheStartDown() {
+        OpenItemState state = multiple(2, 5, 9);
+        state.onItemRangeInserted(5, 3);
+        assertArrayEquals(new int[]{2, 8, 12}, sorted(state));
+    }
+
+    @Test
+    public void removeDropsRemovedItemsAndMovesTheRestUp() {
+        OpenItemState state = multiple(1, 4, 5, 6, 10);
+        state.onItemRangeRemoved(4, 3);
+        assertArrayEquals(new int[]{1, 7}, sorted(state));
+    }
+
+    @Test
+    public void moveCarriesTheMovedRangeAndShiftsWhatItPassed() {
+        //[0 1 2 3 4 5] moving 1..2 to 3 gives [0 3 4 1 2 5]
+        OpenItemState state = multiple(0, 1, 3, 5);
+        state.onItemRangeMoved(1, 3, 2);
+        assertArrayEquals(new int[]{0, 1, 3, 5}, sorted(state));
+        assertTrue(state.isOpen(3));
+        assertFalse(state.isOpen(2));
+
+        //and back
+        state.onItemRangeMoved(3, 1, 2);
+        assertArrayEquals(new int[]{0, 1, 3, 5}, sorted(state));
+        assertTrue(state.isOpen(1));
+    }
+
+    @Test
+    public void positionHelpersAgreeWithAList() {
+        Integer[] items = {0, 1, 2, 3, 4, 5, 6, 7};
+        for (int from = 0; from < items.length; from++) {
+            for (int to = 0; to < items.length; to++) {
+                for (int count = 1; from + count <= items.length && to + count <= items.length; count++) {
+                    List<Integer> moved = new ArrayList<Integer>(Arrays.asList(items));
+                    List<Integer> range = new ArrayList<Integer>(moved.subList(from, from + count));
+                    moved.subList(from, from + count).clear();
+                    moved.addAll(to, range);
+                    for (int position = 0; position < items.length; position++) {
+                        assertEquals("move " + from + "->" + to + " x" + count + " of " + position,
+                                moved.indexOf(position),
+                                OpenItemState.positionAfterMove(position, from, to, count));
+                    }
+                }
+            }
+        }
+        assertEquals(INVALID, OpenItemState.positionAfterRemove(3, 2, 2));
+        assertEquals(1, OpenItemState.positionAfterRemove(1, 2, 2));
+        assertEquals(2, OpenItemState.positionAfterRemove(4, 2, 2));
+        assertEquals(1, OpenItemState.positionAfterInsert(1, 2, 2));
+        assertEquals(4, OpenItemState.positionAfterInsert(2, 2, 2));
+    }
+
+    @Test
+    public void singleModeShiftsAndDropsTheOpenPosition() {
+        OpenItemState state = new OpenItemState();
+        state.open(4);
+        state.onItemRangeInserted(0, 2);
+        assertTrue(state.isOpen(6));
+        state.onItemRangeMoved(6, 1, 1);
+        assertTrue(state.isOpen(1));
+        state.onItemRangeRemoved(0, 1);
+        assertTrue(state.isOpen(0));
+        state.onItemRangeRemoved(0, 1);
+        assertEquals(Collections.singletonList(INVALID), state.getOpenItems());
+        assertEquals(0, state.getOpenItems(new int[1]));
+    }
+
+    @Test
+    public void invalidPositionIsNeverOpen() {
+        OpenItemState single = new OpenItemState();
+        assertFalse(single.isOpen(INVALID));
+        single.open(INVALID);
+        assertEquals(0, single.getOpenItems(new int[1]));
+
+        OpenItemState multiple = multiple();
+        multiple.open(INVALID);
+        assertFalse(multiple.isOpen(INVALID));
+        assertEquals(0, multiple.getOpenItems(new int[1]));
+    }
+
+    @Test
+    public void closingInvalidPositionKeepsOtherState() {
+        //a row whose item was removed reports its close with INVALID_POSITION
+        OpenItemState single = new OpenItemState();
+        single.open(3);
+        single.onClosed(INVALID);
+        single.close(INVALID);
+        assertTrue(single.isOpen(3));
+
+        OpenItemState multiple = multiple(3);
+        multiple.onClosed(INVALID);
+        multiple.close(INVALID);
+        assertTrue(multiple.isOpen(3));
+    }
+
+    @Test
+    public void copiesPositionsAsLongs() {
+        long[] out = new long[2];
+        assertEquals(3, multiple(4, 8, 15).getOpenItems(out));
+        assertEquals(0, new OpenItemState().getOpenItems(out));
+
+        OpenItemState single = new OpenItemState();
+        single.open(9);
+        assertEquals(1, single.getOpenItems(out));
+        assertEquals(9, out[0]);
+    }
+
+    private static OpenItemState multiple(int... open) {
+        OpenItemState state = new OpenItemState();
+        state.setMultiple(true);
+        for (int position : open) {
+            state.open(position);
+        }
+        return state;
+    }
+
+    private static int[] sorted(OpenItemState state) {
+        int[] out = new int[state.getOpenItems(new int[0])];
+        state.getOpenItems(out);
+        Arrays.sort(out);
+        return out;
+    }
+}
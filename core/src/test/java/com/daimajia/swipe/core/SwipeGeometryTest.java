@@ -0,0 +1,126 @@
+package com.daimajia.swipe.core;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SwipeGeometryTest {
+
+    private static final int WIDTH = 1080, HEIGHT = 180, DRAG_DISTANCE = 360;
+
+    private SwipeGeometry mGeometry;
+
+    @Before
+    public void setUp() {
+        mGeometry = new SwipeGeometry();
+    }
+
+    @Test
+    public void clampsSurfaceBetweenClosedAndOpen() {
+        mGeometry.set(SwipeGeometry.EDGE_RIGHT, true, 0, 0, WIDTH, HEIGHT, DRAG_DISTANCE);
+        assertEquals(0, mGeometry.clampSurfaceLeft(50));
+        assertEquals(-100, mGeometry.clampSurfaceLeft(-100));
+        assertEquals(-DRAG_DISTANCE, mGeometry.clampSurfaceLeft(-1000));
+        assertEquals(0, mGeometry.clampSurfaceTop(40));
+
+        mGeometry.set(SwipeGeometry.EDGE_LEFT, true, 10, 0, WIDTH, HEIGHT, DRAG_DISTANCE);
+        assertEquals(10, mGeometry.clampSurfaceLeft(-5));
+        assertEquals(10 + DRAG_DISTANCE, mGeometry.clampSurfaceLeft(1000));
+
+        mGeometry.set(SwipeGeometry.EDGE_TOP, true, 0, 0, WIDTH, HEIGHT, 120);
+        assertEquals(0, mGeometry.clampSurfaceLeft(70));
+        assertEquals(120, mGeometry.clampSurfaceTop(500));
+
+        mGeometry.set(SwipeGeometry.EDGE_BOTTOM, true, 0, 0, WIDTH, HEIGHT, 120);
+        assertEquals(-120, mGeometry.clampSurfaceTop(-500));
+        assertEquals(0, mGeometry.clampSurfaceTop(30));
+    }
+
+    @Test
+    public void computesStatusAtTheEnds() {
+        mGeometry.set(SwipeGeometry.EDGE_RIGHT, true, 0, 0, WIDTH, HEIGHT, DRAG_DISTANCE);
+        assertEquals(SwipeGeometry.STATUS_CLOSE, mGeometry.computeStatus(0, 0));
+        assertEquals(SwipeGeometry.STATUS_OPEN, mGeometry.computeStatus(-DRAG_DISTANCE, 0));
+        assertEquals(SwipeGeometry.STATUS_MIDDLE, mGeometry.computeStatus(-1, 0));
+    }
+
+    @Test
+    public void decidesReleaseByVelocityThenOffset() {
+        mGeometry.set(SwipeGeometry.EDGE_RIGHT, true, 0, 0, WIDTH, HEIGHT, DRAG_DISTANCE);
+        assertTrue(mGeometry.shouldOpen(-500, 0, 100, -10, 0, 0.75f));
+        assertFalse(mGeometry.shouldOpen(500, 0, 100, -350, 0, 0.75f));
+        assertTrue(mGeometry.shouldOpen(0, 0, 100, -300, 0, 0.75f));
+        assertFalse(mGeometry.shouldOpen(0, 0, 100, -200, 0, 0.75f));
+    }
+
+    @Test
+    public void laysOutSurfaceAndBottomView() {
+        mGeometry.set(SwipeGeometry.EDGE_RIGHT, true, 0, 0, WIDTH, HEIGHT, DRAG_DISTANCE);
+        Bounds surface = mGeometry.surfaceArea(true, new Bounds());
+        assertEquals(new Bounds(-DRAG_DISTANCE, 0, WIDTH - DRAG_DISTANCE, HEIGHT), surface);
+        assertEquals(new Bounds(WIDTH - DRAG_DISTANCE, 0, WIDTH, HEIGHT),
+                mGeometry.bottomAreaViaSurface(true, surface, DRAG_DISTANCE, HEIGHT, new Bounds()));
+        assertEquals(new Bounds(WIDTH - DRAG_DISTANCE, 0, WIDTH, HEIGHT),
+                mGeometry.bottomLayDown(SwipeGeometry.EDGE_RIGHT, new Bounds()));
+
+        mGeometry.set(SwipeGeometry.EDGE_TOP, false, 0, 0, WIDTH, HEIGHT, 120);
+        Bounds closed = mGeometry.surfaceArea(false, new Bounds());
+        assertEquals(new Bounds(0, 0, WIDTH, HEIGHT), closed);
+        assertEquals(new Bounds(0, 0, WIDTH, 120),
+                mGeometry.bottomAreaViaSurface(false, closed, WIDTH, 120, new Bounds()));
+    }
+
+    /**
+     * The math SwipeLayout runs on every drag frame must not allocate, or a long drag feeds the
+     * garbage collector.
+     */
+    @Test
+    public void dragFrameDoesNotAllocate() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        Bounds surface = new Bounds();
+        Bounds bottom = new Bounds();
+        int frames = 100000;
+        //once to load and warm up everything involved
+        replay(frames, surface, bottom);
+
+        long thread = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(thread);
+        long overhead = allocations.getThreadAllocatedBytes(thread) - before;
+        before = allocations.getThreadAllocatedBytes(thread);
+        int checksum = replay(frames, surface, bottom);
+        long allocated = allocations.getThreadAllocatedBytes(thread) - before - overhead;
+
+        //a single object per frame would be at least 16 bytes a frame
+        assertTrue("drag frames allocated " + allocated + " bytes (" + checksum + ")", allocated < frames);
+    }
+
+    private int replay(int frames, Bounds surface, Bounds bottom) {
+        int checksum = 0;
+        for (int edge = SwipeGeometry.EDGE_LEFT; edge <= SwipeGeometry.EDGE_BOTTOM; edge++) {
+            mGeometry.set(edge, edge % 2 == 0, 0, 0, WIDTH, HEIGHT, DRAG_DISTANCE);
+            for (int i = 0; i < frames / 4; i++) {
+                int offset = (i % (2 * DRAG_DISTANCE)) - DRAG_DISTANCE / 2;
+                int left = mGeometry.clampSurfaceLeft(offset);
+                int top = mGeometry.clampSurfaceTop(offset);
+                checksum += mGeometry.computeStatus(left, top);
+                surface.set(left, top, left + WIDTH, top + HEIGHT);
+                mGeometry.bottomAreaViaSurface(true, surface, DRAG_DISTANCE, HEIGHT, bottom);
+                mGeometry.bottomLayDown(edge, bottom);
+                checksum += bottom.left;
+            }
+        }
+        return checksum;
+    }
+}
@@ -15,6 +15,7 @@ import com.daimajia.androidanimations.library.YoYo;
 import com.daimajia.swipe.SimpleSwipeListener;
 import com.daimajia.swipe.SwipeLayout;
 import com.daimajia.swipe.adapters.RecyclerSwipeAdapter;
+import com.daimajia.swipe.interfaces.SwipeItemKeyProvider;
 import com.daimajia.swipedemo.R;
 
 import java.util.ArrayList;
@@ -46,12 +47,31 @@ public class RecyclerViewAdapter extends RecyclerSwipeAdapter<RecyclerViewAdapte
 
     private Context mContext;
     private ArrayList<String> mDataset;
+    //a stable id per item, parallel to mDataset
+    private ArrayList<Long> mIds;
 
     //protected SwipeItemRecyclerMangerImpl mItemManger = new SwipeItemRecyclerMangerImpl(this);
 
     public RecyclerViewAdapter(Context context, ArrayList<String> objects) {
         this.mContext = context;
         this.mDataset = objects;
+        this.mIds = new ArrayList<Long>(objects.size());
+        for (long id = 0; id < objects.size(); id++) {
+            mIds.add(id);
+        }
+        setHasStableIds(true);
+        //keep the open rows attached to their state when rows above them are deleted
+        setSwipeItemKeyProvider(new SwipeItemKeyProvider() {
+            @Override
+            public long getSwipeItemKey(int position) {
+                return getItemId(position);
+            }
+        });
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return mIds.get(position);
     }
 
     @Override
@@ -79,15 +99,17 @@ public class RecyclerViewAdapter extends RecyclerSwipeAdapter<RecyclerViewAdapte
         viewHolder.buttonDelete.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View view) {
+                int adapterPosition = viewHolder.getAdapterPosition();
+                if (adapterPosition == RecyclerView.NO_POSITION) return;
                 mItemManger.removeShownLayouts(viewHolder.swipeLayout);
-                mDataset.remove(position);
-                notifyItemRemoved(position);
-                notifyItemRangeChanged(position, mDataset.size());
-                mItemManger.closeAllItems();
+                mDataset.remove(adapterPosition);
+                mIds.remove(adapterPosition);
+                notifyItemRemoved(adapterPosition);
                 Toast.makeText(view.getContext(), "Deleted " + viewHolder.textViewData.getText().toString() + "!", Toast.LENGTH_SHORT).show();
             }
         });
-        viewHolder.textViewPos.setText((position + 1) + ".");
+        //numbered by id rather than position, so a delete leaves the rows below as they are
+        viewHolder.textViewPos.setText((getItemId(position) + 1) + ".");
         viewHolder.textViewData.setText(item);
         mItemManger.bind(viewHolder.itemView, position);
     }
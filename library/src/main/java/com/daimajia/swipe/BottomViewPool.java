@@ -0,0 +1,87 @@
+package com.daimajia.swipe;
+
+import android.support.annotation.LayoutRes;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/**
+ * A {@link SwipeLayout.BottomViewProvider} that shares bottom views between the rows of an adapter.
+ *
+ * Rows declare their bottom views as stubs (see {@link SwipeLayout#addDragStub}), borrow a view
+ * from the pool when they are swiped or opened, and return it when they close. The number of live
+ * bottom views then follows the number of open rows instead of the number of bound rows. A
+ * borrowed view may have been filled for another row before, so fill it in
+ * {@link OnBindBottomViewListener#onBindBottomView}.
+ *
+ * Must be used from the main thread.
+ */
+public class BottomViewPool implements SwipeLayout.BottomViewProvider {
+
+    public interface OnBindBottomViewListener {
+        /**
+         * called every time {@code bottomView} is lent to {@code layout}.
+         */
+        void onBindBottomView(SwipeLayout layout, SwipeLayout.DragEdge dragEdge, View bottomView);
+    }
+
+    private static final int DEFAULT_MAX_SCRAP = 4;
+
+    private final SparseArray<ArrayList<View>> mScrap = new SparseArray<>();
+    private int mMaxScrap = DEFAULT_MAX_SCRAP;
+    private OnBindBottomViewListener mOnBindBottomViewListener;
+
+    public void setOnBindBottomViewListener(OnBindBottomViewListener l) {
+        mOnBindBottomViewListener = l;
+    }
+
+    /**
+     * the number of idle views kept per layout resource, views returned beyond it are dropped.
+     */
+    public void setMaxScrap(int maxScrap) {
+        mMaxScrap = maxScrap;
+        for (int i = 0; i < mScrap.size(); i++) {
+            ArrayList<View> scrap = mScrap.valueAt(i);
+            while (scrap.size() > maxScrap) scrap.remove(scrap.size() - 1);
+        }
+    }
+
+    public int getMaxScrap() {
+        return mMaxScrap;
+    }
+
+    /**
+     * drop all idle views.
+     */
+    public void clear() {
+        mScrap.clear();
+    }
+
+    @Override
+    public View obtainBottomView(SwipeLayout layout, SwipeLayout.DragEdge dragEdge, @LayoutRes int layoutResource) {
+        ArrayList<View> scrap = mScrap.get(layoutResource);
+        View bottomView;
+        if (scrap != null && !scrap.isEmpty()) {
+            bottomView = scrap.remove(scrap.size() - 1);
+        } else {
+            bottomView = LayoutInflater.from(layout.getContext()).inflate(layoutResource, layout, false);
+        }
+        if (mOnBindBottomViewListener != null) {
+            mOnBindBottomViewListener.onBindBottomView(layout, dragEdge, bottomView);
+        }
+        return bottomView;
+    }
+
+    @Override
+    public void recycleBottomView(SwipeLayout layout, SwipeLayout.DragEdge dragEdge, @LayoutRes int layoutResource,
+                                  View bottomView) {
+        ArrayList<View> scrap = mScrap.get(layoutResource);
+        if (scrap == null) {
+            scrap = new ArrayList<>();
+            mScrap.put(layoutResource, scrap);
+        }
+        if (scrap.size() < mMaxScrap) scrap.add(bottomView);
+    }
+}
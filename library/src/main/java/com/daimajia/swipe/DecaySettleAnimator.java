@@ -0,0 +1,45 @@
+package com.daimajia.swipe;
+
+/**
+ * A {@link SwipeLayout.SettleAnimator} that glides the surface into its final position with
+ * exponentially decaying speed, like a fling coming to rest against a stop.
+ *
+ * The decay is matched to the release velocity: a fast fling settles in a few frames, a slow one
+ * takes longer, but never longer than the layout's settle duration. Without a usable velocity the
+ * settle takes {@link #DEFAULT_TIME_CONSTANT} per e-fold.
+ */
+public class DecaySettleAnimator implements SwipeLayout.SettleAnimator {
+
+    public static final int DEFAULT_TIME_CONSTANT = 50;
+
+    private static final float SETTLE_THRESHOLD = 0.5f;
+
+    private int mTo;
+    private float mStartDisplacement;
+    private float mTimeConstant;//milliseconds
+
+    @Override
+    public void start(int from, int to, float velocity, int duration) {
+        mTo = to;
+        mStartDisplacement = from - to;
+        float timeConstant = DEFAULT_TIME_CONSTANT;
+        //only a velocity towards the final position can be matched
+        if (velocity * mStartDisplacement < 0) {
+            timeConstant = Math.abs(mStartDisplacement) / Math.abs(velocity) * 1000;
+        }
+        float distance = Math.abs(mStartDisplacement);
+        if (duration > 0 && distance > SETTLE_THRESHOLD) {
+            //reach the threshold within the budget
+            float longest = duration / (float) Math.log(distance / SETTLE_THRESHOLD);
+            timeConstant = Math.min(timeConstant, longest);
+        }
+        mTimeConstant = Math.max(timeConstant, 1);
+    }
+
+    @Override
+    public int getPosition(long elapsed) {
+        double x = mStartDisplacement * Math.exp(-elapsed / mTimeConstant);
+        if (Math.abs(x) < SETTLE_THRESHOLD) return mTo;
+        return mTo + (int) Math.round(x);
+    }
+}
@@ -0,0 +1,49 @@
+package com.daimajia.swipe;
+
+import android.view.MotionEvent;
+
+/**
+ * A {@link SwipeLayout.GestureClassifier} that only opens a layout when the gesture starts close
+ * to the side its bottom view comes in from, e.g. within the right zone for the Right edge. Touches
+ * everywhere else are left to the parent at once, which keeps vertical scrolling of a list free of
+ * accidental swipes. Closing an open layout is not restricted.
+ */
+public class EdgeZoneGestureClassifier implements SwipeLayout.GestureClassifier {
+
+    private final SwipeLayout.GestureClassifier mDelegate;
+    private final int mZoneSize;
+
+    /**
+     * @param zoneSize the width (or height, for Top and Bottom) of the zone in pixels.
+     */
+    public EdgeZoneGestureClassifier(int zoneSize) {
+        this(SlopeGestureClassifier.INSTANCE, zoneSize);
+    }
+
+    /**
+     * @param delegate classifies the gestures that start inside the zone.
+     */
+    public EdgeZoneGestureClassifier(SwipeLayout.GestureClassifier delegate, int zoneSize) {
+        if (delegate == null) throw new IllegalArgumentException("delegate is null");
+        mDelegate = delegate;
+        mZoneSize = zoneSize;
+    }
+
+    @Override
+    public SwipeLayout.DragEdge classify(SwipeLayout layout, MotionEvent ev, float dx, float dy, int touchSlop) {
+        SwipeLayout.DragEdge dragEdge = mDelegate.classify(layout, ev, dx, dy, touchSlop);
+        if (dragEdge == null || layout.getOpenStatus() != SwipeLayout.Status.Close) return dragEdge;
+        //the layout has not moved since ACTION_DOWN, so the down position is the local one minus the distance
+        float downX = ev.getX() - dx, downY = ev.getY() - dy;
+        switch (dragEdge) {
+            case Left:
+                return downX <= mZoneSize ? dragEdge : null;
+            case Right:
+                return downX >= layout.getWidth() - mZoneSize ? dragEdge : null;
+            case Top:
+                return downY <= mZoneSize ? dragEdge : null;
+            default:
+                return downY >= layout.getHeight() - mZoneSize ? dragEdge : null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.daimajia.swipe;
+
+import android.view.MotionEvent;
+
+/**
+ * The default {@link SwipeLayout.GestureClassifier}.
+ *
+ * A gesture is horizontal when it is flatter than 45 degrees. A horizontal swipe is claimed once
+ * it has moved past the touch slop and is flatter than 30 degrees, a vertical one once it is
+ * steeper than 60 degrees. The angles are compared as slopes, |dy| against |dx| times the tangent,
+ * so no trigonometry runs on the move path.
+ */
+public class SlopeGestureClassifier implements SwipeLayout.GestureClassifier {
+
+    static final SlopeGestureClassifier INSTANCE = new SlopeGestureClassifier();
+
+    private static final float TAN_30 = 0.57735026f;
+    private static final float TAN_60 = 1.7320508f;
+
+    @Override
+    public SwipeLayout.DragEdge classify(SwipeLayout layout, MotionEvent ev, float dx, float dy, int touchSlop) {
+        float absX = Math.abs(dx), absY = Math.abs(dy);
+        SwipeLayout.Status status = layout.getOpenStatus();
+        SwipeLayout.DragEdge dragEdge = layout.getDragEdge();
+        if (status == SwipeLayout.Status.Close) {
+            if (absY < absX) {
+                if (dx > 0 && layout.isLeftSwipeEnabled()) {
+                    dragEdge = SwipeLayout.DragEdge.Left;
+                } else if (dx < 0 && layout.isRightSwipeEnabled()) {
+                    dragEdge = SwipeLayout.DragEdge.Right;
+                } else return null;
+            } else {
+                if (dy > 0 && layout.isTopSwipeEnabled()) {
+                    dragEdge = SwipeLayout.DragEdge.Top;
+                } else if (dy < 0 && layout.isBottomSwipeEnabled()) {
+                    dragEdge = SwipeLayout.DragEdge.Bottom;
+                } else return null;
+            }
+        }
+
+        //the distance towards the bottom view, the swipe must move it by more than the slop
+        float distance;
+        switch (dragEdge) {
+            case Left:
+                if (absY > absX * TAN_30) return null;
+                distance = dx;
+                break;
+            case Right:
+                if (absY > absX * TAN_30) return null;
+                distance = -dx;
+                break;
+            case Top:
+                if (absY < absX * TAN_60) return null;
+                distance = dy;
+                break;
+            default:
+                if (absY < absX * TAN_60) return null;
+                distance = -dy;
+                break;
+        }
+        boolean suitable = status == SwipeLayout.Status.Close ? distance > touchSlop : distance < -touchSlop;
+        return suitable ? dragEdge : null;
+    }
+}
@@ -0,0 +1,75 @@
+package com.daimajia.swipe;
+
+/**
+ * A {@link SwipeLayout.SettleAnimator} that pulls the surface towards its final position with a
+ * damped spring, starting at the release velocity.
+ *
+ * The surface never travels past its final position, so a bouncy spring (damping ratio below 1)
+ * stops at the first crossing instead of oscillating. When the spring would need longer than the
+ * layout's settle duration, its time runs faster so that it still comes to rest in time.
+ */
+public class SpringSettleAnimator implements SwipeLayout.SettleAnimator {
+
+    public static final float STIFFNESS_MEDIUM = 1500f;
+    public static final float DAMPING_RATIO_NO_BOUNCY = 1f;
+
+    //distance to the final position, in pixels, at which the spring counts as settled
+    private static final float SETTLE_THRESHOLD = 0.5f;
+
+    private final float mNaturalFreq;
+    private final float mDampingRatio;
+
+    private int mTo;
+    private float mStartDisplacement;
+    private float mStartVelocity;//pixels per second
+    private float mTimeScale;
+
+    public SpringSettleAnimator() {
+        this(STIFFNESS_MEDIUM, DAMPING_RATIO_NO_BOUNCY);
+    }
+
+    /**
+     * @param stiffness    spring stiffness for a unit mass, see {@link #STIFFNESS_MEDIUM}.
+     * @param dampingRatio 1 for a critically damped spring, above 1 is slower, below 1 would bounce.
+     */
+    public SpringSettleAnimator(float stiffness, float dampingRatio) {
+        if (stiffness <= 0) throw new IllegalArgumentException("stiffness must be positive");
+        if (dampingRatio <= 0) throw new IllegalArgumentException("dampingRatio must be positive");
+        mNaturalFreq = (float) Math.sqrt(stiffness);
+        mDampingRatio = dampingRatio;
+    }
+
+    @Override
+    public void start(int from, int to, float velocity, int duration) {
+        mTo = to;
+        mStartDisplacement = from - to;
+        mStartVelocity = velocity;
+        float decayRate = mDampingRatio >= 1
+                ? mNaturalFreq * (mDampingRatio - (float) Math.sqrt(mDampingRatio * mDampingRatio - 1))
+                : mDampingRatio * mNaturalFreq;
+        float amplitude = Math.max(Math.abs(mStartDisplacement), Math.abs(velocity) / decayRate);
+        float settleTime = (float) Math.log(amplitude / SETTLE_THRESHOLD) / decayRate;
+        mTimeScale = duration > 0 && settleTime * 1000 > duration ? settleTime * 1000 / duration : 1;
+    }
+
+    @Override
+    public int getPosition(long elapsed) {
+        double t = elapsed * mTimeScale / 1000.0;
+        double x0 = mStartDisplacement, v0 = mStartVelocity;
+        double w0 = mNaturalFreq, zeta = mDampingRatio;
+        double x;
+        if (zeta == 1) {
+            x = (x0 + (v0 + w0 * x0) * t) * Math.exp(-w0 * t);
+        } else if (zeta > 1) {
+            double root = w0 * Math.sqrt(zeta * zeta - 1);
+            double rPlus = -zeta * w0 + root, rMinus = -zeta * w0 - root;
+            double c1 = (x0 * rPlus - v0) / (rPlus - rMinus);
+            x = c1 * Math.exp(rMinus * t) + (x0 - c1) * Math.exp(rPlus * t);
+        } else {
+            double wd = w0 * Math.sqrt(1 - zeta * zeta);
+            x = Math.exp(-zeta * w0 * t) * (x0 * Math.cos(wd * t) + (v0 + zeta * w0 * x0) / wd * Math.sin(wd * t));
+        }
+        if (Math.abs(x) < SETTLE_THRESHOLD || x * x0 < 0) return mTo;
+        return mTo + (int) Math.round(x);
+    }
+}
@@ -1,8 +1,12 @@
 package com.daimajia.swipe;
 
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Rect;
+import android.os.Build;
+import android.support.annotation.IdRes;
+import android.support.annotation.LayoutRes;
 import android.support.v4.view.GravityCompat;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.widget.ViewDragHelper;
@@ -15,17 +19,28 @@ import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.view.ViewParent;
+import android.view.ViewStub;
+import android.view.animation.AnimationUtils;
 import android.widget.AbsListView;
 import android.widget.AdapterView;
 import android.widget.FrameLayout;
+import android.widget.LinearLayout;
 
+import com.daimajia.swipe.core.Bounds;
+import com.daimajia.swipe.core.SwipeGeometry;
+
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 public class SwipeLayout extends FrameLayout {
     @Deprecated
@@ -35,29 +50,105 @@ public class SwipeLayout extends FrameLayout {
     private static final int DRAG_TOP = 4;
     private static final int DRAG_BOTTOM = 8;
     private static final DragEdge DefaultDragEdge = DragEdge.Right;
+    private static final DragEdge[] DRAG_EDGES = DragEdge.values();
+    private static final int DEFAULT_SETTLE_DURATION = 300;
+
+    //empty arrays are immutable, so every layout starts out sharing these instead of allocating its own.
+    //a row that is never swiped, never double tapped and has no reveal listener allocates no
+    //ViewDragHelper, GestureDetector or bound cache either, they are created on first use.
+    //SwipeLayoutIdleTest measures the bytes an idle row allocates against those of a row that was
+    //opened, and holds the idle row under its IDLE_ROW_BYTES.
+    private static final SwipeListener[] NO_SWIPE_LISTENERS = new SwipeListener[0];
+    private static final SwipeDenier[] NO_SWIPE_DENIERS = new SwipeDenier[0];
+    private static final OnStatusChangeListener[] NO_STATUS_CHANGE_LISTENERS = new OnStatusChangeListener[0];
+    private static final HardwareLayerDenier[] NO_HARDWARE_LAYER_DENIERS = new HardwareLayerDenier[0];
+    private static final OnRevealListener[] NO_REVEAL_LISTENERS = new OnRevealListener[0];
+    private static final OnRevealListener[][] NO_REVEAL_LISTENER_LISTS = new OnRevealListener[0][];
+    private static final View[] NO_VIEWS = new View[0];
+    private static final boolean[] NO_BOOLEANS = new boolean[0];
+    private static final int[] NO_INTS = new int[0];
+    private static final Rect[] NO_RECTS = new Rect[0];
 
     private int mTouchSlop;
+    private final float mMinVelocity;//the same as ViewDragHelper's, without creating one
 
     private DragEdge mCurrentDragEdge = DefaultDragEdge;
-    private ViewDragHelper mDragHelper;
+    private ViewDragHelper mDragHelper;//created by ensureDragHelper() on the first touch or settle
 
     private int mDragDistance = 0;
-    private LinkedHashMap<DragEdge, View> mDragEdges = new LinkedHashMap<>();
+    //bottom views indexed by DragEdge.ordinal(), and a bit (1 << ordinal) for every configured edge.
+    //an edge can be configured (via the drag_edge attr) before its bottom view is known.
+    private final View[] mDragEdgeViews = new View[DRAG_EDGES.length];
+    private int mDragEdgeMask = 0;
+    private Map<DragEdge, View> mDragEdgeMap;
     private ShowMode mShowMode;
+    private DragEngine mDragEngine = DragEngine.Layout;
+    //layout position of the view the drag helper moves, and its translation when a settle started
+    private int mCapturedLeft, mCapturedTop;
+    private int mSettleOriginX, mSettleOriginY;
+    private SwipeSettleDriver mSettleDriver;
+    //dragging is left to a SwipeTouchCoordinator, see setTouchCoordinated
+    private boolean mTouchCoordinated = false;
+    private boolean mCloseBeforeCoordinatedDrag;
+    private int mCoordinatedDragStart;
+    //the edge whose ViewStub is being inflated, see inflateDragStub
+    private DragEdge mPendingStubEdge;
+    private BottomViewProvider mBottomViewProvider;
+    //the stubs of the bottom views borrowed from mBottomViewProvider, by DragEdge ordinal
+    private ViewStub[] mBorrowedStubs;
+    private View[] mBorrowedViews;//what each borrowed stub was replaced with
+    //null settles with the drag helper's scroller
+    private SettleAnimator mSettleAnimator;
+    private int mSettleDuration = DEFAULT_SETTLE_DURATION;
+    private boolean mSettleAnimating = false;
+    private SettleAnimator mCoordinatedSettleAnimator;
+    private int mSettleFrom, mSettleTo;
+    private long mSettleStartTime;
+    //velocity of the release being processed, handed to the settle animator
+    private float mReleaseVelocityX, mReleaseVelocityY;
 
     private float[] mEdgeSwipesOffset = new float[4];
 
-    private List<SwipeListener> mSwipeListeners = new ArrayList<>();
-    private List<SwipeDenier> mSwipeDeniers = new ArrayList<>();
-    private Map<View, ArrayList<OnRevealListener>> mRevealListeners = new HashMap<>();
-    private Map<View, Boolean> mShowEntirely = new HashMap<>();
-    private Map<View, Rect> mViewBoundCache = new HashMap<>();//save all children's bound, restore in onLayout
+    //listeners are stored in copy-on-write arrays: registering pays for the copy, dispatching reads a
+    //stable snapshot by index, so listeners may add or remove listeners from inside a callback.
+    private SwipeListener[] mSwipeListeners = NO_SWIPE_LISTENERS;
+    private SwipeDenier[] mSwipeDeniers = NO_SWIPE_DENIERS;
+    private GestureClassifier mGestureClassifier = SlopeGestureClassifier.INSTANCE;
+    //deny regions: children by id, resolved into mDenyRegionBounds (left, top, right, bottom per id)
+    //once per layout pass, and fixed rects in this layout's coordinates
+    private int[] mDenyRegionIds = NO_INTS;
+    private int[] mDenyRegionBounds = NO_INTS;
+    private boolean mDenyRegionsValid = false;
+    private Rect[] mDenyRegionRects = NO_RECTS;
+    private boolean mSwipeDeniedByRegion = false;//the current gesture went down in a deny region
+    private OnStatusChangeListener[] mStatusChangeListeners = NO_STATUS_CHANGE_LISTENERS;
+    private HardwareLayerDenier[] mHardwareLayerDeniers = NO_HARDWARE_LAYER_DENIERS;
+    private View[] mRevealChildren = NO_VIEWS;
+    //per reveal child state, parallel to mRevealChildren
+    private OnRevealListener[][] mRevealListeners = NO_REVEAL_LISTENER_LISTS;
+    private boolean[] mShowEntirely = NO_BOOLEANS;
+    private View[] mRevealAnchors = NO_VIEWS;//the direct child of this layout that holds the reveal child
+    private int[] mRevealGeometry = NO_INTS;//left, top relative to the anchor, width, height
+    private boolean mRevealGeometryValid = false;
+    //save all children's bound, restore in onLayout. created on the first drag
+    private Map<View, Rect> mViewBoundCache;
+
+    //reused on the drag path, so that a drag frame never allocates
+    private final Rect mSurfaceArea = new Rect();
+    private final Rect mBottomArea = new Rect();
+    private final Rect mRevealRect = new Rect();
+    private final Bounds mBounds = new Bounds();
+    private final SwipeGeometry mGeometry = new SwipeGeometry();
 
     private DoubleClickListener mDoubleClickListener;
 
     private boolean mSwipeEnabled = true;
     private boolean[] mSwipesEnabled = new boolean[]{true, true, true, true};
     private boolean mClickToClose = false;
+    private boolean mHardwareLayerEnabled = false;
+    //views promoted to a hardware layer for the current drag/settle, and the layer type to restore
+    private final View[] mLayerViews = new View[2];
+    private final int[] mLayerTypes = new int[2];
     private float mWillOpenPercentAfterOpen = 0.75f;
     private float mWillOpenPercentAfterClose = 0.25f;
 
@@ -73,6 +164,39 @@ public class SwipeLayout extends FrameLayout {
         PullOut
     }
 
+    /**
+     * How the surface and bottom views are moved while swiping.
+     * Layout re-lays the children out on every frame, Translation keeps their layout bounds fixed
+     * and only changes translationX/translationY, which needs API 11.
+     */
+    public enum DragEngine {
+        Layout,
+        Translation
+    }
+
+    /**
+     * Moves the surface to its open or closed position once the finger lifts, or when open/close
+     * is called with smooth = true. Positions are along the drag axis: left for the Left and Right
+     * edges, top for Top and Bottom. An animator keeps the state of one settle, so every layout
+     * needs its own instance.
+     */
+    public interface SettleAnimator {
+        /**
+         * @param from     the surface position when the settle starts.
+         * @param to       the position to settle at.
+         * @param velocity the release velocity along the drag axis in pixels per second, 0 when the
+         *                 settle is not started by a fling.
+         * @param duration the budget in milliseconds, the settle is cut off at {@code to} after it.
+         */
+        void start(int from, int to, float velocity, int duration);
+
+        /**
+         * @return the position {@code elapsed} milliseconds after start. Positions past {@code to}
+         * are clamped, the settle ends once {@code to} is returned.
+         */
+        int getPosition(long elapsed);
+    }
+
     public SwipeLayout(Context context) {
         this(context, null);
     }
@@ -83,8 +207,9 @@ public class SwipeLayout extends FrameLayout {
 
     public SwipeLayout(Context context, AttributeSet attrs, int defStyle) {
         super(context, attrs, defStyle);
-        mDragHelper = ViewDragHelper.create(this, mDragHelperCallback);
-        mTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        mTouchSlop = configuration.getScaledTouchSlop();
+        mMinVelocity = configuration.getScaledMinimumFlingVelocity();
 
         TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.SwipeLayout);
         int dragEdgeChoices = a.getInt(R.styleable.SwipeLayout_drag_edge, DRAG_RIGHT);
@@ -93,23 +218,34 @@ public class SwipeLayout extends FrameLayout {
         mEdgeSwipesOffset[DragEdge.Top.ordinal()] = a.getDimension(R.styleable.SwipeLayout_topEdgeSwipeOffset, 0);
         mEdgeSwipesOffset[DragEdge.Bottom.ordinal()] = a.getDimension(R.styleable.SwipeLayout_bottomEdgeSwipeOffset, 0);
         setClickToClose(a.getBoolean(R.styleable.SwipeLayout_clickToClose, mClickToClose));
+        int[] edgeLayouts = new int[4];
+        edgeLayouts[DragEdge.Left.ordinal()] = a.getResourceId(R.styleable.SwipeLayout_leftEdgeLayout, 0);
+        edgeLayouts[DragEdge.Right.ordinal()] = a.getResourceId(R.styleable.SwipeLayout_rightEdgeLayout, 0);
+        edgeLayouts[DragEdge.Top.ordinal()] = a.getResourceId(R.styleable.SwipeLayout_topEdgeLayout, 0);
+        edgeLayouts[DragEdge.Bottom.ordinal()] = a.getResourceId(R.styleable.SwipeLayout_bottomEdgeLayout, 0);
 
         if ((dragEdgeChoices & DRAG_LEFT) == DRAG_LEFT) {
-            mDragEdges.put(DragEdge.Left, null);
+            putDragEdge(DragEdge.Left, null);
         }
         if ((dragEdgeChoices & DRAG_TOP) == DRAG_TOP) {
-            mDragEdges.put(DragEdge.Top, null);
+            putDragEdge(DragEdge.Top, null);
         }
         if ((dragEdgeChoices & DRAG_RIGHT) == DRAG_RIGHT) {
-            mDragEdges.put(DragEdge.Right, null);
+            putDragEdge(DragEdge.Right, null);
         }
         if ((dragEdgeChoices & DRAG_BOTTOM) == DRAG_BOTTOM) {
-            mDragEdges.put(DragEdge.Bottom, null);
+            putDragEdge(DragEdge.Bottom, null);
         }
         int ordinal = a.getInt(R.styleable.SwipeLayout_show_mode, ShowMode.PullOut.ordinal());
         mShowMode = ShowMode.values()[ordinal];
         a.recycle();
 
+        for (DragEdge dragEdge : DRAG_EDGES) {
+            if (edgeLayouts[dragEdge.ordinal()] != 0) {
+                addDragStub(dragEdge, edgeLayouts[dragEdge.ordinal()]);
+            }
+        }
+
     }
 
     public interface SwipeListener {
@@ -127,15 +263,15 @@ public class SwipeLayout extends FrameLayout {
     }
 
     public void addSwipeListener(SwipeListener l) {
-        mSwipeListeners.add(l);
+        mSwipeListeners = appendElement(mSwipeListeners, l);
     }
 
     public void removeSwipeListener(SwipeListener l) {
-        mSwipeListeners.remove(l);
+        mSwipeListeners = removeElement(mSwipeListeners, l);
     }
 
     public void removeAllSwipeListener() {
-        mSwipeListeners.clear();
+        mSwipeListeners = NO_SWIPE_LISTENERS;
     }
 
     public interface SwipeDenier {
@@ -149,16 +285,166 @@ public class SwipeLayout extends FrameLayout {
         boolean shouldDenySwipe(MotionEvent ev);
     }
 
+    /**
+     * Decides, on every ACTION_MOVE until a drag is claimed, whether the gesture is a swipe and
+     * towards which edge. See {@link SlopeGestureClassifier} for the default.
+     */
+    public interface GestureClassifier {
+        /**
+         * @param layout    the layout being touched, for its open status, current drag edge and
+         *                  enabled edges.
+         * @param ev        the ACTION_MOVE event.
+         * @param dx        horizontal distance since ACTION_DOWN, in raw pixels.
+         * @param dy        vertical distance since ACTION_DOWN, in raw pixels.
+         * @param touchSlop the scaled touch slop.
+         * @return the edge to drag, null if the gesture is not (yet) a swipe. While the layout is not
+         * closed, anything but {@link SwipeLayout#getDragEdge()} is ignored.
+         */
+        DragEdge classify(SwipeLayout layout, MotionEvent ev, float dx, float dy, int touchSlop);
+    }
+
+    public void setGestureClassifier(GestureClassifier classifier) {
+        mGestureClassifier = classifier == null ? SlopeGestureClassifier.INSTANCE : classifier;
+    }
+
+    public GestureClassifier getGestureClassifier() {
+        return mGestureClassifier;
+    }
+
+    /**
+     * Never swipe when the gesture goes down inside the child with {@code childId}, e.g. a SeekBar
+     * in the row. Unlike a {@link SwipeDenier} nothing is called back: the child's bounds are
+     * resolved once per layout pass and only the down event is tested against them.
+     */
+    public void addSwipeDenyRegion(@IdRes int childId) {
+        if (indexOf(mDenyRegionIds, childId) >= 0) return;
+        int[] ids = Arrays.copyOf(mDenyRegionIds, mDenyRegionIds.length + 1);
+        ids[mDenyRegionIds.length] = childId;
+        mDenyRegionIds = ids;
+        mDenyRegionsValid = false;
+    }
+
+    public void removeSwipeDenyRegion(@IdRes int childId) {
+        int index = indexOf(mDenyRegionIds, childId);
+        if (index < 0) return;
+        int[] ids = new int[mDenyRegionIds.length - 1];
+        System.arraycopy(mDenyRegionIds, 0, ids, 0, index);
+        System.arraycopy(mDenyRegionIds, index + 1, ids, index, ids.length - index);
+        mDenyRegionIds = ids;
+        mDenyRegionsValid = false;
+    }
+
+    /**
+     * Never swipe when the gesture goes down inside {@code region}, in this layout's coordinates.
+     * The rect is copied.
+     */
+    public void addSwipeDenyRegion(Rect region) {
+        mDenyRegionRects = appendElement(mDenyRegionRects, new Rect(region));
+    }
+
+    public void removeSwipeDenyRegion(Rect region) {
+        for (Rect rect : mDenyRegionRects) {
+            if (rect.equals(region)) {
+                mDenyRegionRects = removeElement(mDenyRegionRects, rect);
+                return;
+            }
+        }
+    }
+
+    public void clearSwipeDenyRegions() {
+        mDenyRegionIds = NO_INTS;
+        mDenyRegionBounds = NO_INTS;
+        mDenyRegionRects = NO_RECTS;
+    }
+
+    private boolean isInDenyRegion(float x, float y) {
+        Rect[] rects = mDenyRegionRects;
+        for (int i = 0; i < rects.length; i++) {
+            if (rects[i].contains((int) x, (int) y)) return true;
+        }
+        if (mDenyRegionIds.length == 0) return false;
+        if (!mDenyRegionsValid) resolveDenyRegions();
+        int[] bounds = mDenyRegionBounds;
+        for (int i = 0; i < bounds.length; i += 4) {
+            if (x >= bounds[i] && y >= bounds[i + 1] && x < bounds[i + 2] && y < bounds[i + 3]) return true;
+        }
+        return false;
+    }
+
+    private void resolveDenyRegions() {
+        int[] ids = mDenyRegionIds;
+        if (mDenyRegionBounds.length != ids.length * 4) mDenyRegionBounds = new int[ids.length * 4];
+        int[] bounds = mDenyRegionBounds;
+        Arrays.fill(bounds, 0);
+        for (int i = 0; i < ids.length; i++) {
+            View child = findViewById(ids[i]);
+            if (child == null || child == this || !child.isShown()) continue;
+            //offset including translation, so the Translation drag engine is covered as well
+            int left = 0, top = 0;
+            View t = child;
+            while (t != this) {
+                left += t.getLeft() + (int) ViewCompat.getTranslationX(t);
+                top += t.getTop() + (int) ViewCompat.getTranslationY(t);
+                t = (View) t.getParent();
+                if (t != this) {
+                    left -= t.getScrollX();
+                    top -= t.getScrollY();
+                }
+            }
+            bounds[i * 4] = left;
+            bounds[i * 4 + 1] = top;
+            bounds[i * 4 + 2] = left + child.getWidth();
+            bounds[i * 4 + 3] = top + child.getHeight();
+        }
+        mDenyRegionsValid = true;
+    }
+
     public void addSwipeDenier(SwipeDenier denier) {
-        mSwipeDeniers.add(denier);
+        mSwipeDeniers = appendElement(mSwipeDeniers, denier);
     }
 
     public void removeSwipeDenier(SwipeDenier denier) {
-        mSwipeDeniers.remove(denier);
+        mSwipeDeniers = removeElement(mSwipeDeniers, denier);
     }
 
     public void removeAllSwipeDeniers() {
-        mSwipeDeniers.clear();
+        mSwipeDeniers = NO_SWIPE_DENIERS;
+    }
+
+    public interface HardwareLayerDenier {
+        /*
+         * Called when a drag or settle starts and hardware layers are enabled, see
+         * setHardwareLayerEnabled. Deny the layer for views whose content changes while
+         * they move, a layer would have to be redrawn on every frame anyway.
+         *
+         * @param child the surface view or the current bottom view
+         * @return true deny false allow
+         */
+        boolean shouldDenyHardwareLayer(SwipeLayout layout, View child);
+    }
+
+    public void addHardwareLayerDenier(HardwareLayerDenier denier) {
+        mHardwareLayerDeniers = appendElement(mHardwareLayerDeniers, denier);
+    }
+
+    public void removeHardwareLayerDenier(HardwareLayerDenier denier) {
+        mHardwareLayerDeniers = removeElement(mHardwareLayerDeniers, denier);
+    }
+
+    /**
+     * Edge triggered counterpart of {@link #getOpenStatus()}: called once for every transition
+     * between {@link Status#Close}, {@link Status#Middle} and {@link Status#Open}.
+     */
+    public interface OnStatusChangeListener {
+        void onStatusChanged(SwipeLayout layout, Status oldStatus, Status newStatus);
+    }
+
+    public void addOnStatusChangeListener(OnStatusChangeListener l) {
+        mStatusChangeListeners = appendElement(mStatusChangeListeners, l);
+    }
+
+    public void removeOnStatusChangeListener(OnStatusChangeListener l) {
+        mStatusChangeListeners = removeElement(mStatusChangeListeners, l);
     }
 
     public interface OnRevealListener {
@@ -179,13 +465,21 @@ public class SwipeLayout extends FrameLayout {
             throw new IllegalArgumentException("Child does not belong to SwipeListener.");
         }
 
-        if (!mShowEntirely.containsKey(child)) {
-            mShowEntirely.put(child, false);
+        int index = indexOf(mRevealChildren, child);
+        if (index < 0) {
+            index = mRevealChildren.length;
+            int size = index + 1;
+            mRevealChildren = appendElement(mRevealChildren, child);
+            mRevealListeners = appendElement(mRevealListeners, NO_REVEAL_LISTENERS);
+            mShowEntirely = Arrays.copyOf(mShowEntirely, size);
+            mRevealAnchors = new View[size];
+            mRevealGeometry = new int[size * 4];
+            mRevealGeometryValid = false;
         }
-        if (mRevealListeners.get(child) == null)
-            mRevealListeners.put(child, new ArrayList<OnRevealListener>());
 
-        mRevealListeners.get(child).add(l);
+        OnRevealListener[][] listeners = mRevealListeners.clone();
+        listeners[index] = appendElement(listeners[index], l);
+        mRevealListeners = listeners;
     }
 
     /**
@@ -205,116 +499,136 @@ public class SwipeLayout extends FrameLayout {
 
         if (child == null) return;
 
-        mShowEntirely.remove(child);
-        if (mRevealListeners.containsKey(child)) mRevealListeners.get(child).remove(l);
+        int index = indexOf(mRevealChildren, child);
+        if (index < 0) return;
+        OnRevealListener[] remaining = removeElement(mRevealListeners[index], l);
+        if (remaining.length == 0) {
+            removeRevealChild(index);
+        } else {
+            OnRevealListener[][] listeners = mRevealListeners.clone();
+            listeners[index] = remaining;
+            mRevealListeners = listeners;
+            boolean[] showEntirely = mShowEntirely.clone();
+            showEntirely[index] = false;
+            mShowEntirely = showEntirely;
+        }
     }
 
     public void removeAllRevealListeners(int childId) {
         View child = findViewById(childId);
-        if (child != null) {
-            mRevealListeners.remove(child);
-            mShowEntirely.remove(child);
+        int index = indexOf(mRevealChildren, child);
+        if (index >= 0) {
+            removeRevealChild(index);
+        }
+    }
+
+    private void removeRevealChild(int index) {
+        int size = mRevealChildren.length - 1;
+        mRevealChildren = removeElement(mRevealChildren, mRevealChildren[index]);
+        mRevealListeners = removeElement(mRevealListeners, mRevealListeners[index]);
+        boolean[] showEntirely = new boolean[size];
+        System.arraycopy(mShowEntirely, 0, showEntirely, 0, index);
+        System.arraycopy(mShowEntirely, index + 1, showEntirely, index, size - index);
+        mShowEntirely = showEntirely;
+        mRevealAnchors = new View[size];
+        mRevealGeometry = new int[size * 4];
+        mRevealGeometryValid = false;
+    }
+
+    private static int indexOf(Object[] array, Object element) {
+        if (element == null) return -1;
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) return i;
+        }
+        return -1;
+    }
+
+    private static int indexOf(int[] array, int element) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) return i;
         }
+        return -1;
+    }
+
+    private static <T> T[] appendElement(T[] array, T element) {
+        T[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = element;
+        return result;
+    }
+
+    private static <T> T[] removeElement(T[] array, Object element) {
+        int index = indexOf(array, element);
+        if (index < 0) return array;
+        T[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    /**
+     * resolve where every reveal child sits relative to the direct child of this layout that
+     * holds it. Those offsets only change on layout, so the parent chain is walked once per layout
+     * pass instead of on every drag frame.
+     */
+    private void resolveRevealGeometry() {
+        for (int i = 0; i < mRevealChildren.length; i++) {
+            View child = mRevealChildren[i];
+            View anchor = child;
+            int left = 0, top = 0;
+            while (anchor.getParent() != this && anchor.getParent() instanceof View && anchor != getRootView()) {
+                left += anchor.getLeft();
+                top += anchor.getTop();
+                anchor = (View) anchor.getParent();
+            }
+            if (anchor.getParent() != this) {
+                //not a descendant any more, keep the absolute offset like getRelativePosition does
+                left += anchor.getLeft();
+                top += anchor.getTop();
+                anchor = null;
+            }
+            mRevealAnchors[i] = anchor;
+            mRevealGeometry[i * 4] = left;
+            mRevealGeometry[i * 4 + 1] = top;
+            mRevealGeometry[i * 4 + 2] = child.getMeasuredWidth();
+            mRevealGeometry[i * 4 + 3] = child.getMeasuredHeight();
+        }
+        mRevealGeometryValid = true;
     }
 
     private ViewDragHelper.Callback mDragHelperCallback = new ViewDragHelper.Callback() {
 
         @Override
         public int clampViewPositionHorizontal(View child, int left, int dx) {
+            int translation = getViewLeft(child) - child.getLeft();
+            return clampLeft(child, left + translation, dx) - translation;
+        }
+
+        @Override
+        public int clampViewPositionVertical(View child, int top, int dy) {
+            int translation = getViewTop(child) - child.getTop();
+            return clampTop(child, top + translation, dy) - translation;
+        }
+
+        private int clampLeft(View child, int left, int dx) {
             if (child == getSurfaceView()) {
-                switch (mCurrentDragEdge) {
-                    case Top:
-                    case Bottom:
-                        return getPaddingLeft();
-                    case Left:
-                        if (left < getPaddingLeft()) return getPaddingLeft();
-                        if (left > getPaddingLeft() + mDragDistance)
-                            return getPaddingLeft() + mDragDistance;
-                        break;
-                    case Right:
-                        if (left > getPaddingLeft()) return getPaddingLeft();
-                        if (left < getPaddingLeft() - mDragDistance)
-                            return getPaddingLeft() - mDragDistance;
-                        break;
-                }
+                return syncGeometry().clampSurfaceLeft(left);
             } else if (getCurrentBottomView() == child) {
-
-                switch (mCurrentDragEdge) {
-                    case Top:
-                    case Bottom:
-                        return getPaddingLeft();
-                    case Left:
-                        if (mShowMode == ShowMode.PullOut) {
-                            if (left > getPaddingLeft()) return getPaddingLeft();
-                        }
-                        break;
-                    case Right:
-                        if (mShowMode == ShowMode.PullOut) {
-                            if (left < getMeasuredWidth() - mDragDistance) {
-                                return getMeasuredWidth() - mDragDistance;
-                            }
-                        }
-                        break;
-                }
+                return syncGeometry().clampBottomLeft(left);
             }
             return left;
         }
 
-        @Override
-        public int clampViewPositionVertical(View child, int top, int dy) {
+        private int clampTop(View child, int top, int dy) {
             if (child == getSurfaceView()) {
-                switch (mCurrentDragEdge) {
-                    case Left:
-                    case Right:
-                        return getPaddingTop();
-                    case Top:
-                        if (top < getPaddingTop()) return getPaddingTop();
-                        if (top > getPaddingTop() + mDragDistance)
-                            return getPaddingTop() + mDragDistance;
-                        break;
-                    case Bottom:
-                        if (top < getPaddingTop() - mDragDistance) {
-                            return getPaddingTop() - mDragDistance;
-                        }
-                        if (top > getPaddingTop()) {
-                            return getPaddingTop();
-                        }
-                }
-            } else {
-                View surfaceView = getSurfaceView();
-                int surfaceViewTop = surfaceView == null ? 0 : surfaceView.getTop();
-                switch (mCurrentDragEdge) {
-                    case Left:
-                    case Right:
-                        return getPaddingTop();
-                    case Top:
-                        if (mShowMode == ShowMode.PullOut) {
-                            if (top > getPaddingTop()) return getPaddingTop();
-                        } else {
-                            if (surfaceViewTop + dy < getPaddingTop())
-                                return getPaddingTop();
-                            if (surfaceViewTop + dy > getPaddingTop() + mDragDistance)
-                                return getPaddingTop() + mDragDistance;
-                        }
-                        break;
-                    case Bottom:
-                        if (mShowMode == ShowMode.PullOut) {
-                            if (top < getMeasuredHeight() - mDragDistance)
-                                return getMeasuredHeight() - mDragDistance;
-                        } else {
-                            if (surfaceViewTop + dy >= getPaddingTop())
-                                return getPaddingTop();
-                            if (surfaceViewTop + dy <= getPaddingTop() - mDragDistance)
-                                return getPaddingTop() - mDragDistance;
-                        }
-                }
+                return syncGeometry().clampSurfaceTop(top);
             }
-            return top;
+            View surfaceView = getSurfaceView();
+            int surfaceViewTop = surfaceView == null ? 0 : getViewTop(surfaceView);
+            return syncGeometry().clampBottomTop(top, surfaceViewTop, dy);
         }
 
         @Override
         public boolean tryCaptureView(View child, int pointerId) {
-            boolean result = child == getSurfaceView() || getBottomViews().contains(child);
+            boolean result = child == getSurfaceView() || isBottomView(child);
             if (result) {
                 isCloseBeforeDrag = getOpenStatus() == Status.Close;
             }
@@ -331,14 +645,34 @@ public class SwipeLayout extends FrameLayout {
             return mDragDistance;
         }
 
+        @Override
+        public void onViewDragStateChanged(int state) {
+            //layers are promoted once a drag is claimed or a settle starts, every down captures the
+            //surface and would layer rows that are only tapped or scrolled past
+            if (state == ViewDragHelper.STATE_IDLE) {
+                //a release handed to the settle animator leaves the helper idle while still moving
+                if (!mSettleAnimating) demoteHardwareLayers();
+            }
+        }
+
+        @Override
+        public void onViewCaptured(View capturedChild, int activePointerId) {
+            mCapturedLeft = capturedChild.getLeft();
+            mCapturedTop = capturedChild.getTop();
+        }
+
         boolean isCloseBeforeDrag = true;
 
         @Override
         public void onViewReleased(View releasedChild, float xvel, float yvel) {
             super.onViewReleased(releasedChild, xvel, yvel);
+            mReleaseVelocityX = xvel;
+            mReleaseVelocityY = yvel;
             processHandRelease(xvel, yvel, isCloseBeforeDrag);
-            for (SwipeListener l : mSwipeListeners) {
-                l.onHandRelease(SwipeLayout.this, xvel, yvel);
+            mReleaseVelocityX = mReleaseVelocityY = 0;
+            SwipeListener[] listeners = mSwipeListeners;
+            for (int i = 0; i < listeners.length; i++) {
+                listeners[i].onHandRelease(SwipeLayout.this, xvel, yvel);
             }
 
             invalidate();
@@ -348,6 +682,10 @@ public class SwipeLayout extends FrameLayout {
         public void onViewPositionChanged(View changedView, int left, int top, int dx, int dy) {
             View surfaceView = getSurfaceView();
             if (surfaceView == null) return;
+            if (mDragEngine == DragEngine.Translation) {
+                onViewTranslated(changedView, left, top);
+                return;
+            }
             View currentBottomView = getCurrentBottomView();
             int evLeft = surfaceView.getLeft(),
                     evRight = surfaceView.getRight(),
@@ -363,13 +701,13 @@ public class SwipeLayout extends FrameLayout {
                     }
                 }
 
-            } else if (getBottomViews().contains(changedView)) {
+            } else if (isBottomView(changedView)) {
 
                 if (mShowMode == ShowMode.PullOut) {
                     surfaceView.offsetLeftAndRight(dx);
                     surfaceView.offsetTopAndBottom(dy);
                 } else {
-                    Rect rect = computeBottomLayDown(mCurrentDragEdge);
+                    Rect rect = computeBottomLayDown(mCurrentDragEdge, mBottomArea);
                     if (currentBottomView != null) {
                         currentBottomView.layout(rect.left, rect.top, rect.right, rect.bottom);
                     }
@@ -388,6 +726,7 @@ public class SwipeLayout extends FrameLayout {
                     surfaceView.layout(newLeft, newTop, newLeft + getMeasuredWidth(), newTop + getMeasuredHeight());
                 }
             }
+            updateOpenStatus();
 
             dispatchRevealEvent(evLeft, evTop, evRight, evBottom);
 
@@ -399,38 +738,272 @@ public class SwipeLayout extends FrameLayout {
         }
     };
 
+    /**
+     * {@link DragEngine#Translation} counterpart of onViewPositionChanged. The drag helper has just
+     * offset the layout of {@code changedView}; that offset is undone and applied as translation.
+     * While dragging, {@code left}/{@code top} are relative to the current position, while settling
+     * they are relative to where the settle started.
+     */
+    private void onViewTranslated(View changedView, int left, int top) {
+        View surfaceView = getSurfaceView();
+        int evLeft = getViewLeft(surfaceView),
+                evRight = evLeft + surfaceView.getWidth(),
+                evTop = getViewTop(surfaceView),
+                evBottom = evTop + surfaceView.getHeight();
+
+        changedView.offsetLeftAndRight(mCapturedLeft - changedView.getLeft());
+        changedView.offsetTopAndBottom(mCapturedTop - changedView.getTop());
+        int translationX = (int) ViewCompat.getTranslationX(changedView);
+        int translationY = (int) ViewCompat.getTranslationY(changedView);
+        if (mDragHelper.getViewDragState() != ViewDragHelper.STATE_SETTLING) {
+            mSettleOriginX = translationX;
+            mSettleOriginY = translationY;
+        }
+        int dx = mSettleOriginX + left - mCapturedLeft - translationX;
+        int dy = mSettleOriginY + top - mCapturedTop - translationY;
+
+        int surfaceX = (int) ViewCompat.getTranslationX(surfaceView) + dx;
+        int surfaceY = (int) ViewCompat.getTranslationY(surfaceView) + dy;
+        if (changedView != surfaceView && mShowMode == ShowMode.LayDown) {
+            //the bottom view stays put in LayDown mode, only the surface follows the finger
+            int newLeft = surfaceView.getLeft() + surfaceX, newTop = surfaceView.getTop() + surfaceY;
+            if (mCurrentDragEdge == DragEdge.Left && newLeft < getPaddingLeft())
+                surfaceX = getPaddingLeft() - surfaceView.getLeft();
+            else if (mCurrentDragEdge == DragEdge.Right && newLeft > getPaddingLeft())
+                surfaceX = getPaddingLeft() - surfaceView.getLeft();
+            else if (mCurrentDragEdge == DragEdge.Top && newTop < getPaddingTop())
+                surfaceY = getPaddingTop() - surfaceView.getTop();
+            else if (mCurrentDragEdge == DragEdge.Bottom && newTop > getPaddingTop())
+                surfaceY = getPaddingTop() - surfaceView.getTop();
+        }
+        setSurfaceTranslation(surfaceX, surfaceY);
+        updateOpenStatus();
+
+        dispatchRevealEvent(evLeft, evTop, evRight, evBottom);
+
+        dispatchSwipeEvent(evLeft, evTop, dx, dy);
+
+        invalidate();
+    }
+
+    /**
+     * translate the surface, and in PullOut mode the current bottom view with it.
+     */
+    private void setSurfaceTranslation(int translationX, int translationY) {
+        View surfaceView = getSurfaceView();
+        ViewCompat.setTranslationX(surfaceView, translationX);
+        ViewCompat.setTranslationY(surfaceView, translationY);
+        View currentBottomView = getCurrentBottomView();
+        if (currentBottomView != null) {
+            boolean pullOut = mShowMode == ShowMode.PullOut;
+            ViewCompat.setTranslationX(currentBottomView, pullOut ? translationX : 0);
+            ViewCompat.setTranslationY(currentBottomView, pullOut ? translationY : 0);
+        }
+    }
+
+    /**
+     * the visual left of a child: its layout position, plus its translation when the
+     * {@link DragEngine#Translation} engine moves it.
+     */
+    private int getViewLeft(View child) {
+        if (mDragEngine != DragEngine.Translation) return child.getLeft();
+        return child.getLeft() + (int) ViewCompat.getTranslationX(child);
+    }
+
+    private int getViewTop(View child) {
+        if (mDragEngine != DragEngine.Translation) return child.getTop();
+        return child.getTop() + (int) ViewCompat.getTranslationY(child);
+    }
+
+    private ViewDragHelper ensureDragHelper() {
+        if (mDragHelper == null) {
+            mDragHelper = ViewDragHelper.create(this, mDragHelperCallback);
+        }
+        return mDragHelper;
+    }
+
+    /**
+     * start a settle of {@code child} towards the visual position {@code finalLeft}, {@code finalTop}.
+     */
+    private void smoothSlideViewTo(View child, int finalLeft, int finalTop) {
+        if (mSettleAnimator != null || mTouchCoordinated) {
+            startSettleAnimation(child, finalLeft, finalTop);
+            return;
+        }
+        if (mDragEngine == DragEngine.Translation) {
+            mCapturedLeft = child.getLeft();
+            mCapturedTop = child.getTop();
+            mSettleOriginX = (int) ViewCompat.getTranslationX(child);
+            mSettleOriginY = (int) ViewCompat.getTranslationY(child);
+            finalLeft -= mSettleOriginX;
+            finalTop -= mSettleOriginY;
+        }
+        if (ensureDragHelper().smoothSlideViewTo(child, finalLeft, finalTop)) {
+            promoteHardwareLayers();
+            if (mSettleDriver != null) mSettleDriver.schedule(this);
+        }
+    }
+
+    private void startSettleAnimation(View child, int finalLeft, int finalTop) {
+        boolean horizontal = mCurrentDragEdge == DragEdge.Left || mCurrentDragEdge == DragEdge.Right;
+        mSettleFrom = horizontal ? getViewLeft(child) : getViewTop(child);
+        mSettleTo = horizontal ? finalLeft : finalTop;
+        if (mSettleFrom == mSettleTo) {
+            abortSettleAnimation();
+            return;
+        }
+        getActiveSettleAnimator().start(mSettleFrom, mSettleTo, horizontal ? mReleaseVelocityX : mReleaseVelocityY,
+                mSettleDuration);
+        mSettleStartTime = AnimationUtils.currentAnimationTimeMillis();
+        if (!mSettleAnimating) {
+            mSettleAnimating = true;
+            promoteHardwareLayers();
+        }
+        if (mSettleDriver != null) {
+            mSettleDriver.schedule(this);
+        } else {
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+    }
+
+    /**
+     * move the surface one frame further along the settle animation.
+     *
+     * @return true if the settle has not finished yet.
+     */
+    private boolean stepSettleAnimation() {
+        View surfaceView = getSurfaceView();
+        if (!mSettleAnimating || surfaceView == null) {
+            abortSettleAnimation();
+            return false;
+        }
+        long elapsed = AnimationUtils.currentAnimationTimeMillis() - mSettleStartTime;
+        int position = mSettleTo;
+        if (elapsed < mSettleDuration) {
+            position = getActiveSettleAnimator().getPosition(elapsed);
+            if (mSettleFrom < mSettleTo) {
+                position = Math.max(mSettleFrom, Math.min(position, mSettleTo));
+            } else {
+                position = Math.min(mSettleFrom, Math.max(position, mSettleTo));
+            }
+        }
+        moveSurfaceTo(position);
+        if (position == mSettleTo) {
+            abortSettleAnimation();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * move the surface to {@code position} along the drag axis of the current edge, the way a drag
+     * would: the bottom view follows in PullOut mode and the listeners are notified.
+     */
+    private void moveSurfaceTo(int position) {
+        View surfaceView = getSurfaceView();
+        boolean horizontal = mCurrentDragEdge == DragEdge.Left || mCurrentDragEdge == DragEdge.Right;
+        int dx = horizontal ? position - getViewLeft(surfaceView) : 0;
+        int dy = horizontal ? 0 : position - getViewTop(surfaceView);
+        if (dx != 0 || dy != 0) {
+            if (mDragEngine == DragEngine.Translation) {
+                setSurfaceTranslation((int) ViewCompat.getTranslationX(surfaceView) + dx,
+                        (int) ViewCompat.getTranslationY(surfaceView) + dy);
+                updateOpenStatus();
+                int l = getViewLeft(surfaceView), t = getViewTop(surfaceView);
+                dispatchRevealEvent(l, t, l + surfaceView.getWidth(), t + surfaceView.getHeight());
+                dispatchSwipeEvent(l, t, dx, dy);
+                invalidate();
+            } else {
+                surfaceView.offsetLeftAndRight(dx);
+                surfaceView.offsetTopAndBottom(dy);
+                mDragHelperCallback.onViewPositionChanged(surfaceView, surfaceView.getLeft(),
+                        surfaceView.getTop(), dx, dy);
+            }
+        }
+    }
+
+    /**
+     * stop a running settle animation where it is, e.g. when a new touch catches the surface.
+     */
+    private void abortSettleAnimation() {
+        if (!mSettleAnimating) return;
+        mSettleAnimating = false;
+        if (mSettleDriver != null) mSettleDriver.cancel(this);
+        if (mDragHelper == null || mDragHelper.getViewDragState() == ViewDragHelper.STATE_IDLE) {
+            demoteHardwareLayers();
+        }
+    }
+
+    /**
+     * Settle with {@code animator} instead of the drag helper's fixed scroller curve, e.g. a
+     * {@link SpringSettleAnimator} or a {@link DecaySettleAnimator}. The animator picks up the
+     * release velocity, and a new touch stops it where it is. Pass null to go back to the scroller.
+     */
+    public void setSettleAnimator(SettleAnimator animator) {
+        abortSettleAnimation();
+        mSettleAnimator = animator;
+    }
+
+    public SettleAnimator getSettleAnimator() {
+        return mSettleAnimator;
+    }
+
+    /**
+     * a layout without a drag helper (see setTouchCoordinated) settles with a decay animator.
+     */
+    private SettleAnimator getActiveSettleAnimator() {
+        if (mSettleAnimator != null) return mSettleAnimator;
+        if (mCoordinatedSettleAnimator == null) mCoordinatedSettleAnimator = new DecaySettleAnimator();
+        return mCoordinatedSettleAnimator;
+    }
+
+    /**
+     * the longest a {@link SettleAnimator} may run, in milliseconds. At 60fps the default of
+     * 300ms is a budget of 18 frames.
+     */
+    public void setSettleDuration(int duration) {
+        mSettleDuration = Math.max(0, duration);
+    }
+
+    public int getSettleDuration() {
+        return mSettleDuration;
+    }
+
     /**
      * save children's bounds, so they can restore the bound in {@link #onLayout(boolean, int, int, int, int)}
      */
     private void captureChildrenBound() {
         View currentBottomView = getCurrentBottomView();
         if (getOpenStatus() == Status.Close) {
-            mViewBoundCache.remove(currentBottomView);
+            if (mViewBoundCache != null) mViewBoundCache.remove(currentBottomView);
             return;
         }
 
-        View[] views = new View[]{getSurfaceView(), currentBottomView};
-        for (View child : views) {
-            Rect rect = mViewBoundCache.get(child);
-            if (rect == null) {
-                rect = new Rect();
-                mViewBoundCache.put(child, rect);
-            }
-            rect.left = child.getLeft();
-            rect.top = child.getTop();
-            rect.right = child.getRight();
-            rect.bottom = child.getBottom();
+        captureChildBound(getSurfaceView());
+        captureChildBound(currentBottomView);
+    }
+
+    private void captureChildBound(View child) {
+        if (mViewBoundCache == null) mViewBoundCache = new HashMap<>();
+        Rect rect = mViewBoundCache.get(child);
+        if (rect == null) {
+            rect = new Rect();
+            mViewBoundCache.put(child, rect);
         }
+        rect.left = child.getLeft();
+        rect.top = child.getTop();
+        rect.right = child.getRight();
+        rect.bottom = child.getBottom();
     }
 
     /**
      * the dispatchRevealEvent method may not always get accurate position, it
      * makes the view may not always get the event when the view is totally
      * show( fraction = 1), so , we need to calculate every time.
+     * Only called while the child has not been reported as entirely shown yet.
      */
     protected boolean isViewTotallyFirstShowed(View child, Rect relativePosition, DragEdge edge, int surfaceLeft,
                                                int surfaceTop, int surfaceRight, int surfaceBottom) {
-        if (mShowEntirely.get(child)) return false;
         int childLeft = relativePosition.left;
         int childRight = relativePosition.right;
         int childTop = relativePosition.top;
@@ -499,8 +1072,17 @@ public class SwipeLayout extends FrameLayout {
     }
 
     protected Rect getRelativePosition(View child) {
+        return getRelativePosition(child, new Rect());
+    }
+
+    /**
+     * same as {@link #getRelativePosition(View)}, but writes the result into {@code r} instead of
+     * allocating a new {@link Rect}.
+     */
+    protected Rect getRelativePosition(View child, Rect r) {
         View t = child;
-        Rect r = new Rect(t.getLeft(), t.getTop(), 0, 0);
+        r.left = t.getLeft();
+        r.top = t.getTop();
         while (t.getParent() != null && t != getRootView()) {
             t = (View) t.getParent();
             if (t == this) break;
@@ -515,6 +1097,8 @@ public class SwipeLayout extends FrameLayout {
     private int mEventCounter = 0;
 
     protected void dispatchSwipeEvent(int surfaceLeft, int surfaceTop, int dx, int dy) {
+        //the deny regions moved with the surface
+        mDenyRegionsValid = false;
         DragEdge edge = getDragEdge();
         boolean open = true;
         if (edge == DragEdge.Left) {
@@ -534,9 +1118,11 @@ public class SwipeLayout extends FrameLayout {
         safeBottomView();
         Status status = getOpenStatus();
 
-        if (!mSwipeListeners.isEmpty()) {
+        SwipeListener[] listeners = mSwipeListeners;
+        if (listeners.length > 0) {
             mEventCounter++;
-            for (SwipeListener l : mSwipeListeners) {
+            for (int i = 0; i < listeners.length; i++) {
+                SwipeListener l = listeners[i];
                 if (mEventCounter == 1) {
                     if (open) {
                         l.onStartOpen(this);
@@ -548,8 +1134,8 @@ public class SwipeLayout extends FrameLayout {
             }
 
             if (status == Status.Close) {
-                for (SwipeListener l : mSwipeListeners) {
-                    l.onClose(SwipeLayout.this);
+                for (int i = 0; i < listeners.length; i++) {
+                    listeners[i].onClose(SwipeLayout.this);
                 }
                 mEventCounter = 0;
             }
@@ -559,8 +1145,8 @@ public class SwipeLayout extends FrameLayout {
                 if (currentBottomView != null) {
                     currentBottomView.setEnabled(true);
                 }
-                for (SwipeListener l : mSwipeListeners) {
-                    l.onOpen(SwipeLayout.this);
+                for (int i = 0; i < listeners.length; i++) {
+                    listeners[i].onOpen(SwipeLayout.this);
                 }
                 mEventCounter = 0;
             }
@@ -572,11 +1158,11 @@ public class SwipeLayout extends FrameLayout {
      */
     private void safeBottomView() {
         Status status = getOpenStatus();
-        List<View> bottoms = getBottomViews();
 
         if (status == Status.Close) {
-            for (View bottom : bottoms) {
-                if (bottom != null && bottom.getVisibility() != INVISIBLE) {
+            for (View bottom : mDragEdgeViews) {
+                //hiding a ViewStub would inflate it
+                if (bottom != null && !(bottom instanceof ViewStub) && bottom.getVisibility() != INVISIBLE) {
                     bottom.setVisibility(INVISIBLE);
                 }
             }
@@ -590,13 +1176,25 @@ public class SwipeLayout extends FrameLayout {
 
     protected void dispatchRevealEvent(final int surfaceLeft, final int surfaceTop, final int surfaceRight,
                                        final int surfaceBottom) {
-        if (mRevealListeners.isEmpty()) return;
-        for (Map.Entry<View, ArrayList<OnRevealListener>> entry : mRevealListeners.entrySet()) {
-            View child = entry.getKey();
-            Rect rect = getRelativePosition(child);
+        if (mRevealChildren.length == 0) return;
+        if (!mRevealGeometryValid) resolveRevealGeometry();
+        View[] children = mRevealChildren;
+        OnRevealListener[][] revealListeners = mRevealListeners;
+        boolean[] showEntirely = mShowEntirely;
+        View[] anchors = mRevealAnchors;
+        int[] geometry = mRevealGeometry;
+        for (int c = 0; c < children.length; c++) {
+            View child = children[c];
+            OnRevealListener[] listeners = revealListeners[c];
+            View anchor = anchors[c];
+            Rect rect = mRevealRect;
+            rect.left = geometry[c * 4] + (anchor == null ? 0 : getViewLeft(anchor));
+            rect.top = geometry[c * 4 + 1] + (anchor == null ? 0 : getViewTop(anchor));
+            rect.right = rect.left + geometry[c * 4 + 2];
+            rect.bottom = rect.top + geometry[c * 4 + 3];
             if (isViewShowing(child, rect, mCurrentDragEdge, surfaceLeft, surfaceTop,
                     surfaceRight, surfaceBottom)) {
-                mShowEntirely.put(child, false);
+                showEntirely[c] = false;
                 int distance = 0;
                 float fraction = 0f;
                 if (getShowMode() == ShowMode.LayDown) {
@@ -639,23 +1237,23 @@ public class SwipeLayout extends FrameLayout {
                     }
                 }
 
-                for (OnRevealListener l : entry.getValue()) {
-                    l.onReveal(child, mCurrentDragEdge, Math.abs(fraction), distance);
+                for (int i = 0; i < listeners.length; i++) {
+                    listeners[i].onReveal(child, mCurrentDragEdge, Math.abs(fraction), distance);
                     if (Math.abs(fraction) == 1) {
-                        mShowEntirely.put(child, true);
+                        showEntirely[c] = true;
                     }
                 }
             }
 
-            if (isViewTotallyFirstShowed(child, rect, mCurrentDragEdge, surfaceLeft, surfaceTop,
+            if (!showEntirely[c] && isViewTotallyFirstShowed(child, rect, mCurrentDragEdge, surfaceLeft, surfaceTop,
                     surfaceRight, surfaceBottom)) {
-                mShowEntirely.put(child, true);
-                for (OnRevealListener l : entry.getValue()) {
+                showEntirely[c] = true;
+                for (int i = 0; i < listeners.length; i++) {
                     if (mCurrentDragEdge == DragEdge.Left
                             || mCurrentDragEdge == DragEdge.Right)
-                        l.onReveal(child, mCurrentDragEdge, 1, child.getWidth());
+                        listeners[i].onReveal(child, mCurrentDragEdge, 1, child.getWidth());
                     else
-                        l.onReveal(child, mCurrentDragEdge, 1, child.getHeight());
+                        listeners[i].onReveal(child, mCurrentDragEdge, 1, child.getHeight());
                 }
             }
 
@@ -665,9 +1263,40 @@ public class SwipeLayout extends FrameLayout {
     @Override
     public void computeScroll() {
         super.computeScroll();
-        if (mDragHelper.continueSettling(true)) {
+        if (mSettleDriver != null && mSettleDriver.isSettling(this)) return;
+        if (mSettleAnimating) {
+            if (stepSettleAnimation()) ViewCompat.postInvalidateOnAnimation(this);
+        } else if (mDragHelper != null && mDragHelper.continueSettling(true)) {
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+    }
+
+    /**
+     * advance a settle by one frame on behalf of a {@link SwipeSettleDriver}.
+     *
+     * @return true if the settle has not finished yet.
+     */
+    boolean continueSettling() {
+        if (mSettleAnimating) return stepSettleAnimation();
+        return mDragHelper != null && mDragHelper.continueSettling(false);
+    }
+
+    /**
+     * Let {@code driver} step this layout's open/close animations together with the other layouts
+     * sharing it, instead of this layout scheduling its own frames. Pass null to go back to
+     * stepping on its own.
+     */
+    public void setSettleDriver(SwipeSettleDriver driver) {
+        if (mSettleDriver == driver) return;
+        if (mSettleDriver != null) {
+            mSettleDriver.cancel(this);
             ViewCompat.postInvalidateOnAnimation(this);
         }
+        mSettleDriver = driver;
+    }
+
+    public SwipeSettleDriver getSettleDriver() {
+        return mSettleDriver;
     }
 
     /**
@@ -690,7 +1319,37 @@ public class SwipeLayout extends FrameLayout {
     }
 
     public void clearDragEdge() {
-        mDragEdges.clear();
+        for (DragEdge dragEdge : DRAG_EDGES) {
+            dropBorrowedView(dragEdge, null);
+        }
+        Arrays.fill(mDragEdgeViews, null);
+        mDragEdgeMask = 0;
+    }
+
+    private void putDragEdge(DragEdge dragEdge, View child) {
+        dropBorrowedView(dragEdge, child);
+        mDragEdgeViews[dragEdge.ordinal()] = child;
+        mDragEdgeMask |= 1 << dragEdge.ordinal();
+    }
+
+    private void removeDragEdge(DragEdge dragEdge) {
+        dropBorrowedView(dragEdge, null);
+        mDragEdgeViews[dragEdge.ordinal()] = null;
+        mDragEdgeMask &= ~(1 << dragEdge.ordinal());
+    }
+
+    /**
+     * {@code dragEdge} is about to show {@code child}, if that replaces a borrowed bottom view the
+     * view goes back to the provider and its stub is forgotten.
+     */
+    private void dropBorrowedView(DragEdge dragEdge, View child) {
+        if (mBorrowedStubs == null || mBorrowedStubs[dragEdge.ordinal()] == null) return;
+        if (mBorrowedViews[dragEdge.ordinal()] == child) return;
+        releaseBorrowedView(dragEdge);
+    }
+
+    private boolean hasDragEdge(DragEdge dragEdge) {
+        return (mDragEdgeMask & (1 << dragEdge.ordinal())) != 0;
     }
 
     public void setDrag(DragEdge dragEdge, int childId) {
@@ -711,6 +1370,162 @@ public class SwipeLayout extends FrameLayout {
         addDrag(dragEdge, child, null);
     }
 
+    /**
+     * Add a bottom view for {@code dragEdge} that is only inflated from {@code layoutResource} when
+     * that edge is first swiped or opened, so rows that are never swiped don't pay for it. Until
+     * then the edge's bottom view is a {@link ViewStub}. A {@link ViewStub} child with a
+     * layout_gravity in xml, or the leftEdgeLayout, rightEdgeLayout, topEdgeLayout and
+     * bottomEdgeLayout attributes, work the same way.
+     *
+     * As with any {@link ViewStub} the inflated view takes the stub's layout params, which here
+     * wrap the content along the drag axis and fill the layout across it, so the drag distance is
+     * the size of the inflated content. Use a {@link ViewStub} in xml to size it differently.
+     */
+    public void addDragStub(DragEdge dragEdge, @LayoutRes int layoutResource) {
+        LayoutParams params;
+        if (dragEdge == DragEdge.Left || dragEdge == DragEdge.Right) {
+            params = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT);
+        } else {
+            params = new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+        }
+        addDrag(dragEdge, new ViewStub(getContext(), layoutResource), params);
+    }
+
+    /**
+     * inflate the bottom view of {@code dragEdge} if it is still a {@link ViewStub}, and measure it
+     * right away so the drag distance is known before the next layout pass.
+     *
+     * @return true if a view was inflated.
+     */
+    private boolean inflateDragStub(DragEdge dragEdge) {
+        View bottomView = mDragEdgeViews[dragEdge.ordinal()];
+        if (!(bottomView instanceof ViewStub) || bottomView.getParent() != this) return false;
+        ViewStub stub = (ViewStub) bottomView;
+        View inflated;
+        mPendingStubEdge = dragEdge;
+        try {
+            if (mBottomViewProvider != null) {
+                //borrow the view, and keep the stub to put it back once the view is returned
+                inflated = mBottomViewProvider.obtainBottomView(this, dragEdge, stub.getLayoutResource());
+                int index = indexOfChild(stub);
+                removeViewInLayout(stub);
+                addView(inflated, index, stub.getLayoutParams());
+                if (mBorrowedStubs == null) {
+                    mBorrowedStubs = new ViewStub[DRAG_EDGES.length];
+                    mBorrowedViews = new View[DRAG_EDGES.length];
+                }
+                mBorrowedStubs[dragEdge.ordinal()] = stub;
+                mBorrowedViews[dragEdge.ordinal()] = inflated;
+            } else {
+                inflated = stub.inflate();
+            }
+        } finally {
+            mPendingStubEdge = null;
+        }
+        if (getMeasuredWidth() > 0 || getMeasuredHeight() > 0) {
+            measureChildWithMargins(inflated,
+                    MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.EXACTLY), 0,
+                    MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.EXACTLY), 0);
+        }
+        return true;
+    }
+
+    /**
+     * Supplies the bottom views of stub-backed edges (see {@link #addDragStub(DragEdge, int)})
+     * instead of inflating them per row, e.g. a {@link BottomViewPool} shared by an adapter.
+     */
+    public interface BottomViewProvider {
+        /**
+         * @return a view without parent for {@code layoutResource}, to show as the bottom view of
+         * {@code dragEdge} until it is handed back through {@link #recycleBottomView}.
+         */
+        View obtainBottomView(SwipeLayout layout, DragEdge dragEdge, @LayoutRes int layoutResource);
+
+        /**
+         * called once the layout closed and has removed {@code bottomView} again.
+         */
+        void recycleBottomView(SwipeLayout layout, DragEdge dragEdge, @LayoutRes int layoutResource,
+                               View bottomView);
+    }
+
+    /**
+     * Borrow the bottom views of stub-backed edges from {@code provider} when the edge is swiped or
+     * opened, and hand them back when the layout closes. Bottom views still borrowed from a previous
+     * provider are returned first.
+     */
+    public void setBottomViewProvider(BottomViewProvider provider) {
+        if (mBottomViewProvider == provider) return;
+        recycleBottomViews();
+        mBottomViewProvider = provider;
+    }
+
+    public BottomViewProvider getBottomViewProvider() {
+        return mBottomViewProvider;
+    }
+
+    /**
+     * hand every borrowed bottom view back to the {@link BottomViewProvider} and put the stubs back
+     * in place, e.g. when the row is rebound to another item. Done automatically on close.
+     */
+    public void recycleBottomViews() {
+        if (mBorrowedStubs == null) return;
+        for (DragEdge dragEdge : DRAG_EDGES) {
+            ViewStub stub = mBorrowedStubs[dragEdge.ordinal()];
+            if (stub == null) continue;
+            View bottomView = mBorrowedViews[dragEdge.ordinal()];
+            if (mDragEdgeViews[dragEdge.ordinal()] != bottomView || bottomView.getParent() != this) {
+                //the edge got another view meanwhile, the stub has nothing left to stand in for
+                releaseBorrowedView(dragEdge);
+                continue;
+            }
+            mBorrowedStubs[dragEdge.ordinal()] = null;
+            mBorrowedViews[dragEdge.ordinal()] = null;
+            int index = indexOfChild(bottomView);
+            removeView(bottomView);
+            if (mViewBoundCache != null) mViewBoundCache.remove(bottomView);
+            mPendingStubEdge = dragEdge;
+            try {
+                addView(stub, index, bottomView.getLayoutParams());
+            } finally {
+                mPendingStubEdge = null;
+            }
+            mBottomViewProvider.recycleBottomView(this, dragEdge, stub.getLayoutResource(), bottomView);
+        }
+    }
+
+    /**
+     * hand the view borrowed for {@code dragEdge} back without putting its stub in place again.
+     */
+    private void releaseBorrowedView(DragEdge dragEdge) {
+        ViewStub stub = mBorrowedStubs[dragEdge.ordinal()];
+        View bottomView = mBorrowedViews[dragEdge.ordinal()];
+        mBorrowedStubs[dragEdge.ordinal()] = null;
+        mBorrowedViews[dragEdge.ordinal()] = null;
+        if (bottomView.getParent() == this) removeView(bottomView);
+        if (mViewBoundCache != null) mViewBoundCache.remove(bottomView);
+        if (mBottomViewProvider != null) {
+            mBottomViewProvider.recycleBottomView(this, dragEdge, stub.getLayoutResource(), bottomView);
+        }
+    }
+
+    /**
+     * return the borrowed bottom views soon if the layout is closed, e.g. after a touch that
+     * borrowed one but never moved the surface.
+     */
+    private void scheduleBottomViewRecycle() {
+        if (mBorrowedStubs == null || mOpenStatus != Status.Close) return;
+        //not while in the middle of a layout or drag callback
+        removeCallbacks(mRecycleBottomViewsRunnable);
+        post(mRecycleBottomViewsRunnable);
+    }
+
+    private final Runnable mRecycleBottomViewsRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (getOpenStatus() == Status.Close) recycleBottomViews();
+        }
+    };
+
     public void addDrag(DragEdge dragEdge, View child, ViewGroup.LayoutParams params) {
         if (child == null) return;
 
@@ -744,33 +1559,31 @@ public class SwipeLayout extends FrameLayout {
     @Override
     public void addView(View child, int index, ViewGroup.LayoutParams params) {
         if (child == null) return;
-        int gravity = Gravity.NO_GRAVITY;
-        try {
-            gravity = (Integer) params.getClass().getField("gravity").get(params);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        int gravity = getLayoutGravity(params);
 
-        if (gravity > 0) {
+        if (mPendingStubEdge != null) {
+            //a drag stub replacing itself with its layout
+            putDragEdge(mPendingStubEdge, child);
+        } else if (gravity > 0) {
             gravity = GravityCompat.getAbsoluteGravity(gravity, ViewCompat.getLayoutDirection(this));
 
             if ((gravity & Gravity.LEFT) == Gravity.LEFT) {
-                mDragEdges.put(DragEdge.Left, child);
+                putDragEdge(DragEdge.Left, child);
             }
             if ((gravity & Gravity.RIGHT) == Gravity.RIGHT) {
-                mDragEdges.put(DragEdge.Right, child);
+                putDragEdge(DragEdge.Right, child);
             }
             if ((gravity & Gravity.TOP) == Gravity.TOP) {
-                mDragEdges.put(DragEdge.Top, child);
+                putDragEdge(DragEdge.Top, child);
             }
             if ((gravity & Gravity.BOTTOM) == Gravity.BOTTOM) {
-                mDragEdges.put(DragEdge.Bottom, child);
+                putDragEdge(DragEdge.Bottom, child);
             }
         } else {
-            for (Map.Entry<DragEdge, View> entry : mDragEdges.entrySet()) {
-                if (entry.getValue() == null) {
+            for (DragEdge dragEdge : DRAG_EDGES) {
+                if (hasDragEdge(dragEdge) && mDragEdgeViews[dragEdge.ordinal()] == null) {
                     //means used the drag_edge attr, the no gravity child should be use set
-                    mDragEdges.put(entry.getKey(), child);
+                    putDragEdge(dragEdge, child);
                     break;
                 }
             }
@@ -781,8 +1594,48 @@ public class SwipeLayout extends FrameLayout {
         super.addView(child, index, params);
     }
 
+    //public int "gravity" fields of LayoutParams classes we don't know at compile time, null if there is none
+    private static final Map<Class<?>, Field> sGravityFields = new HashMap<>();
+
+    /**
+     * read the gravity of a child's LayoutParams. The common LayoutParams classes are read directly,
+     * other classes are looked up by reflection once and cached per class.
+     */
+    private static int getLayoutGravity(ViewGroup.LayoutParams params) {
+        if (params instanceof FrameLayout.LayoutParams) {
+            return ((FrameLayout.LayoutParams) params).gravity;
+        }
+        if (params instanceof LinearLayout.LayoutParams) {
+            return ((LinearLayout.LayoutParams) params).gravity;
+        }
+        if (params == null) return Gravity.NO_GRAVITY;
+
+        Class<?> paramsClass = params.getClass();
+        Field field;
+        synchronized (sGravityFields) {
+            if (sGravityFields.containsKey(paramsClass)) {
+                field = sGravityFields.get(paramsClass);
+            } else {
+                try {
+                    field = paramsClass.getField("gravity");
+                    if (field.getType() != int.class) field = null;
+                } catch (NoSuchFieldException e) {
+                    field = null;
+                }
+                sGravityFields.put(paramsClass, field);
+            }
+        }
+        if (field == null) return Gravity.NO_GRAVITY;
+        try {
+            return field.getInt(params);
+        } catch (IllegalAccessException e) {
+            return Gravity.NO_GRAVITY;
+        }
+    }
+
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        mDenyRegionsValid = false;
         updateBottomViews();
 
         if (mOnLayoutListeners != null) for (int i = 0; i < mOnLayoutListeners.size(); i++) {
@@ -790,16 +1643,20 @@ public class SwipeLayout extends FrameLayout {
         }
     }
 
+    private Rect getCachedBound(View child) {
+        return mViewBoundCache == null ? null : mViewBoundCache.get(child);
+    }
+
     void layoutPullOut() {
         View surfaceView = getSurfaceView();
-        Rect surfaceRect = mViewBoundCache.get(surfaceView);
+        Rect surfaceRect = getCachedBound(surfaceView);
         if (surfaceRect == null) surfaceRect = computeSurfaceLayoutArea(false);
         if (surfaceView != null) {
             surfaceView.layout(surfaceRect.left, surfaceRect.top, surfaceRect.right, surfaceRect.bottom);
             bringChildToFront(surfaceView);
         }
         View currentBottomView = getCurrentBottomView();
-        Rect bottomViewRect = mViewBoundCache.get(currentBottomView);
+        Rect bottomViewRect = getCachedBound(currentBottomView);
         if (bottomViewRect == null)
             bottomViewRect = computeBottomLayoutAreaViaSurface(ShowMode.PullOut, surfaceRect);
         if (currentBottomView != null) {
@@ -809,14 +1666,14 @@ public class SwipeLayout extends FrameLayout {
 
     void layoutLayDown() {
         View surfaceView = getSurfaceView();
-        Rect surfaceRect = mViewBoundCache.get(surfaceView);
+        Rect surfaceRect = getCachedBound(surfaceView);
         if (surfaceRect == null) surfaceRect = computeSurfaceLayoutArea(false);
         if (surfaceView != null) {
             surfaceView.layout(surfaceRect.left, surfaceRect.top, surfaceRect.right, surfaceRect.bottom);
             bringChildToFront(surfaceView);
         }
         View currentBottomView = getCurrentBottomView();
-        Rect bottomViewRect = mViewBoundCache.get(currentBottomView);
+        Rect bottomViewRect = getCachedBound(currentBottomView);
         if (bottomViewRect == null)
             bottomViewRect = computeBottomLayoutAreaViaSurface(ShowMode.LayDown, surfaceRect);
         if (currentBottomView != null) {
@@ -828,75 +1685,43 @@ public class SwipeLayout extends FrameLayout {
 
     private void checkCanDrag(MotionEvent ev) {
         if (mIsBeingDragged) return;
-        if (getOpenStatus() == Status.Middle) {
-            mIsBeingDragged = true;
-            return;
-        }
-        Status status = getOpenStatus();
-        float distanceX = ev.getRawX() - sX;
-        float distanceY = ev.getRawY() - sY;
-        float angle = Math.abs(distanceY / distanceX);
-        angle = (float) Math.toDegrees(Math.atan(angle));
-        if (getOpenStatus() == Status.Close) {
-            DragEdge dragEdge;
-            if (angle < 45) {
-                if (distanceX > 0 && isLeftSwipeEnabled()) {
-                    dragEdge = DragEdge.Left;
-                } else if (distanceX < 0 && isRightSwipeEnabled()) {
-                    dragEdge = DragEdge.Right;
-                } else return;
+        mIsBeingDragged = claimDrag(ev, ev.getRawX() - sX, ev.getRawY() - sY);
+        //after claimDrag picked the edge, so the bottom view of that edge is layered
+        if (mIsBeingDragged) promoteHardwareLayers();
+    }
 
-            } else {
-                if (distanceY > 0 && isTopSwipeEnabled()) {
-                    dragEdge = DragEdge.Top;
-                } else if (distanceY < 0 && isBottomSwipeEnabled()) {
-                    dragEdge = DragEdge.Bottom;
-                } else return;
-            }
+    /**
+     * ask the gesture classifier whether a move of {@code dx}, {@code dy} since the down event
+     * starts a drag, and select the edge it drags.
+     */
+    boolean claimDrag(MotionEvent ev, float dx, float dy) {
+        if (getOpenStatus() == Status.Middle) return true;
+        DragEdge dragEdge = mGestureClassifier.classify(this, ev, dx, dy, mTouchSlop);
+        if (dragEdge == null) return false;
+        if (getOpenStatus() == Status.Close) {
             setCurrentDragEdge(dragEdge);
+        } else if (dragEdge != mCurrentDragEdge) {
+            return false;
         }
+        return true;
+    }
 
-        boolean doNothing = false;
-        if (mCurrentDragEdge == DragEdge.Right) {
-            boolean suitable = (status == Status.Open && distanceX > mTouchSlop)
-                    || (status == Status.Close && distanceX < -mTouchSlop);
-            suitable = suitable || (status == Status.Middle);
-
-            if (angle > 30 || !suitable) {
-                doNothing = true;
-            }
-        }
-
-        if (mCurrentDragEdge == DragEdge.Left) {
-            boolean suitable = (status == Status.Open && distanceX < -mTouchSlop)
-                    || (status == Status.Close && distanceX > mTouchSlop);
-            suitable = suitable || status == Status.Middle;
-
-            if (angle > 30 || !suitable) {
-                doNothing = true;
-            }
-        }
-
-        if (mCurrentDragEdge == DragEdge.Top) {
-            boolean suitable = (status == Status.Open && distanceY < -mTouchSlop)
-                    || (status == Status.Close && distanceY > mTouchSlop);
-            suitable = suitable || status == Status.Middle;
-
-            if (angle < 60 || !suitable) {
-                doNothing = true;
-            }
-        }
-
-        if (mCurrentDragEdge == DragEdge.Bottom) {
-            boolean suitable = (status == Status.Open && distanceY > mTouchSlop)
-                    || (status == Status.Close && distanceY < -mTouchSlop);
-            suitable = suitable || status == Status.Middle;
-
-            if (angle < 60 || !suitable) {
-                doNothing = true;
+    /**
+     * @return true if one of the swipe deniers refuses a swipe starting with {@code ev}.
+     */
+    boolean isSwipeDenied(MotionEvent ev) {
+        if (ev.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            mSwipeDeniedByRegion = isInDenyRegion(ev.getX(), ev.getY());
+        }
+        if (mSwipeDeniedByRegion) return true;
+        SwipeDenier[] deniers = mSwipeDeniers;
+        for (int i = 0; i < deniers.length; i++) {
+            SwipeDenier denier = deniers[i];
+            if (denier != null && denier.shouldDenySwipe(ev)) {
+                return true;
             }
         }
-        mIsBeingDragged = !doNothing;
+        return false;
     }
 
     @Override
@@ -907,21 +1732,24 @@ public class SwipeLayout extends FrameLayout {
         if (mClickToClose && getOpenStatus() == Status.Open && isTouchOnSurface(ev)) {
             return true;
         }
-        for (SwipeDenier denier : mSwipeDeniers) {
-            if (denier != null && denier.shouldDenySwipe(ev)) {
-                return false;
-            }
+        if (mTouchCoordinated || isSwipeDenied(ev)) {
+            return false;
         }
+        ensureDragHelper();
 
         switch (ev.getAction()) {
             case MotionEvent.ACTION_DOWN:
+                abortSettleAnimation();
                 mDragHelper.processTouchEvent(ev);
                 mIsBeingDragged = false;
+                mUnbufferedDispatchRequested = false;
                 sX = ev.getRawX();
                 sY = ev.getRawY();
                 //if the swipe is in middle state(scrolling), should intercept the touch
                 if (getOpenStatus() == Status.Middle) {
                     mIsBeingDragged = true;
+                    promoteHardwareLayers();
+                    requestUnbufferedDrag(ev);
                 }
                 break;
             case MotionEvent.ACTION_MOVE:
@@ -932,6 +1760,7 @@ public class SwipeLayout extends FrameLayout {
                     if (parent != null) {
                         parent.requestDisallowInterceptTouchEvent(true);
                     }
+                    requestUnbufferedDrag(ev);
                 }
                 if (!beforeCheck && mIsBeingDragged) {
                     //let children has one chance to catch the touch, and request the swipe not intercept
@@ -944,6 +1773,7 @@ public class SwipeLayout extends FrameLayout {
             case MotionEvent.ACTION_UP:
                 mIsBeingDragged = false;
                 mDragHelper.processTouchEvent(ev);
+                scheduleBottomViewRecycle();
                 break;
             default://handle other action, such as ACTION_POINTER_DOWN/UP
                 mDragHelper.processTouchEvent(ev);
@@ -952,17 +1782,39 @@ public class SwipeLayout extends FrameLayout {
     }
 
     private float sX = -1, sY = -1;
+    private boolean mUnbufferedDispatchRequested = false;
+
+    /**
+     * Once a drag is claimed, ask for the rest of the gesture to be delivered as soon as it
+     * arrives rather than batched once per frame, so the surface follows the latest sample on high
+     * refresh rate screens. Scrolls of the parent are never unbuffered. Needs API 21.
+     * The samples batched into a move are not replayed here, ViewDragHelper's VelocityTracker
+     * already adds the historical ones and dragging to the newest sample is the most current.
+     */
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private void requestUnbufferedDrag(MotionEvent ev) {
+        if (mUnbufferedDispatchRequested || Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) return;
+        mUnbufferedDispatchRequested = true;
+        requestUnbufferedDispatch(ev);
+    }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
         if (!isSwipeEnabled()) return super.onTouchEvent(event);
 
         int action = event.getActionMasked();
-        gestureDetector.onTouchEvent(event);
+        if (gestureDetector != null) gestureDetector.onTouchEvent(event);
+        if (mTouchCoordinated) {
+            //only here for clickToClose, dragging is up to the coordinator
+            return super.onTouchEvent(event) || action == MotionEvent.ACTION_DOWN;
+        }
+        ensureDragHelper();
 
         switch (action) {
             case MotionEvent.ACTION_DOWN:
+                abortSettleAnimation();
                 mDragHelper.processTouchEvent(event);
+                mUnbufferedDispatchRequested = false;
                 sX = event.getRawX();
                 sY = event.getRawY();
 
@@ -972,6 +1824,7 @@ public class SwipeLayout extends FrameLayout {
                 checkCanDrag(event);
                 if (mIsBeingDragged) {
                     getParent().requestDisallowInterceptTouchEvent(true);
+                    requestUnbufferedDrag(event);
                     mDragHelper.processTouchEvent(event);
                 }
                 break;
@@ -980,6 +1833,7 @@ public class SwipeLayout extends FrameLayout {
             case MotionEvent.ACTION_CANCEL:
                 mIsBeingDragged = false;
                 mDragHelper.processTouchEvent(event);
+                scheduleBottomViewRecycle();
                 break;
 
             default://handle other action, such as ACTION_POINTER_DOWN/UP
@@ -989,12 +1843,119 @@ public class SwipeLayout extends FrameLayout {
         return super.onTouchEvent(event) || mIsBeingDragged || action == MotionEvent.ACTION_DOWN;
     }
 
+    /**
+     * Leave dragging to a {@link SwipeTouchCoordinator} installed on the parent RecyclerView, which
+     * drives one row at a time. A coordinated layout never creates its own ViewDragHelper, it
+     * only handles clickToClose and the double click itself, and settles with its
+     * {@link SettleAnimator} (a {@link DecaySettleAnimator} if none is set).
+     */
+    public void setTouchCoordinated(boolean coordinated) {
+        if (mTouchCoordinated == coordinated) return;
+        abortSettleAnimation();
+        mTouchCoordinated = coordinated;
+    }
+
+    public boolean isTouchCoordinated() {
+        return mTouchCoordinated;
+    }
+
+    /**
+     * a {@link SwipeTouchCoordinator} claimed a drag of this layout, the surface follows
+     * {@link #coordinatedDragTo} from its current position.
+     */
+    void startCoordinatedDrag() {
+        abortSettleAnimation();
+        View surfaceView = getSurfaceView();
+        if (surfaceView == null) return;
+        mCloseBeforeCoordinatedDrag = getOpenStatus() == Status.Close;
+        boolean horizontal = mCurrentDragEdge == DragEdge.Left || mCurrentDragEdge == DragEdge.Right;
+        mCoordinatedDragStart = horizontal ? getViewLeft(surfaceView) : getViewTop(surfaceView);
+        promoteHardwareLayers();
+    }
+
+    /**
+     * @param dx horizontal distance the finger moved since the drag started.
+     * @param dy vertical distance the finger moved since the drag started.
+     */
+    void coordinatedDragTo(float dx, float dy) {
+        if (getSurfaceView() == null) return;
+        SwipeGeometry geometry = syncGeometry();
+        if (geometry.isHorizontal()) {
+            moveSurfaceTo(geometry.clampSurfaceLeft(mCoordinatedDragStart + Math.round(dx)));
+        } else {
+            moveSurfaceTo(geometry.clampSurfaceTop(mCoordinatedDragStart + Math.round(dy)));
+        }
+    }
+
+    /**
+     * the finger lifted with the given velocity, open or close the way a release of the drag
+     * helper would.
+     */
+    void releaseCoordinatedDrag(float xvel, float yvel) {
+        mReleaseVelocityX = xvel;
+        mReleaseVelocityY = yvel;
+        processHandRelease(xvel, yvel, mCloseBeforeCoordinatedDrag);
+        mReleaseVelocityX = mReleaseVelocityY = 0;
+        SwipeListener[] listeners = mSwipeListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onHandRelease(SwipeLayout.this, xvel, yvel);
+        }
+        if (!mSettleAnimating) demoteHardwareLayers();
+        scheduleBottomViewRecycle();
+        invalidate();
+    }
+
+    /**
+     * When enabled, the surface and the current bottom view are rendered into hardware layers while
+     * they are dragged or settling, and restored once the swipe comes to rest. Moving the views then
+     * only moves textures. Views whose content changes mid drag can opt out through a
+     * {@link HardwareLayerDenier}. Disabled by default.
+     */
+    public void setHardwareLayerEnabled(boolean enabled) {
+        mHardwareLayerEnabled = enabled;
+        if (!enabled) demoteHardwareLayers();
+    }
+
+    public boolean isHardwareLayerEnabled() {
+        return mHardwareLayerEnabled;
+    }
+
+    private void promoteHardwareLayers() {
+        if (!mHardwareLayerEnabled || mLayerViews[0] != null || mLayerViews[1] != null) return;
+        promoteHardwareLayer(0, getSurfaceView());
+        promoteHardwareLayer(1, getCurrentBottomView());
+    }
+
+    private void promoteHardwareLayer(int slot, View child) {
+        if (child == null) return;
+        HardwareLayerDenier[] deniers = mHardwareLayerDeniers;
+        for (int i = 0; i < deniers.length; i++) {
+            if (deniers[i].shouldDenyHardwareLayer(this, child)) return;
+        }
+        int layerType = ViewCompat.getLayerType(child);
+        if (layerType == ViewCompat.LAYER_TYPE_HARDWARE) return;
+        mLayerViews[slot] = child;
+        mLayerTypes[slot] = layerType;
+        ViewCompat.setLayerType(child, ViewCompat.LAYER_TYPE_HARDWARE, null);
+    }
+
+    private void demoteHardwareLayers() {
+        for (int i = 0; i < mLayerViews.length; i++) {
+            View child = mLayerViews[i];
+            if (child != null) {
+                ViewCompat.setLayerType(child, mLayerTypes[i], null);
+                mLayerViews[i] = null;
+            }
+        }
+    }
+
     public boolean isClickToClose() {
         return mClickToClose;
     }
 
     public void setClickToClose(boolean mClickToClose) {
         this.mClickToClose = mClickToClose;
+        if (mClickToClose) ensureGestureDetector();
     }
 
     public void setSwipeEnabled(boolean enabled) {
@@ -1005,10 +1966,17 @@ public class SwipeLayout extends FrameLayout {
         return mSwipeEnabled;
     }
 
-    public boolean isLeftSwipeEnabled() {
-        View bottomView = mDragEdges.get(DragEdge.Left);
+    /**
+     * @return true if {@code edge} has a bottom view and swiping it is enabled.
+     */
+    public boolean isSwipeEnabled(DragEdge edge) {
+        View bottomView = mDragEdgeViews[edge.ordinal()];
         return bottomView != null && bottomView.getParent() == this
-                && bottomView != getSurfaceView() && mSwipesEnabled[DragEdge.Left.ordinal()];
+                && bottomView != getSurfaceView() && mSwipesEnabled[edge.ordinal()];
+    }
+
+    public boolean isLeftSwipeEnabled() {
+        return isSwipeEnabled(DragEdge.Left);
     }
 
     public void setLeftSwipeEnabled(boolean leftSwipeEnabled) {
@@ -1016,9 +1984,7 @@ public class SwipeLayout extends FrameLayout {
     }
 
     public boolean isRightSwipeEnabled() {
-        View bottomView = mDragEdges.get(DragEdge.Right);
-        return bottomView != null && bottomView.getParent() == this
-                && bottomView != getSurfaceView() && mSwipesEnabled[DragEdge.Right.ordinal()];
+        return isSwipeEnabled(DragEdge.Right);
     }
 
     public void setRightSwipeEnabled(boolean rightSwipeEnabled) {
@@ -1026,9 +1992,7 @@ public class SwipeLayout extends FrameLayout {
     }
 
     public boolean isTopSwipeEnabled() {
-        View bottomView = mDragEdges.get(DragEdge.Top);
-        return bottomView != null && bottomView.getParent() == this
-                && bottomView != getSurfaceView() && mSwipesEnabled[DragEdge.Top.ordinal()];
+        return isSwipeEnabled(DragEdge.Top);
     }
 
     public void setTopSwipeEnabled(boolean topSwipeEnabled) {
@@ -1036,9 +2000,7 @@ public class SwipeLayout extends FrameLayout {
     }
 
     public boolean isBottomSwipeEnabled() {
-        View bottomView = mDragEdges.get(DragEdge.Bottom);
-        return bottomView != null && bottomView.getParent() == this
-                && bottomView != getSurfaceView() && mSwipesEnabled[DragEdge.Bottom.ordinal()];
+        return isSwipeEnabled(DragEdge.Bottom);
     }
 
     public void setBottomSwipeEnabled(boolean bottomSwipeEnabled) {
@@ -1163,6 +2125,17 @@ public class SwipeLayout extends FrameLayout {
         }
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (mSettleDriver != null) mSettleDriver.cancel(this);
+        mSettleAnimating = false;
+        demoteHardwareLayers();
+        removeCallbacks(mRecycleBottomViewsRunnable);
+        //a detached row may be recycled for another item, the pool can lend its views meanwhile
+        if (mOpenStatus == Status.Close) recycleBottomViews();
+    }
+
     OnClickListener clickListener;
 
     @Override
@@ -1193,7 +2166,14 @@ public class SwipeLayout extends FrameLayout {
         return hitSurfaceRect.contains((int) ev.getX(), (int) ev.getY());
     }
 
-    private GestureDetector gestureDetector = new GestureDetector(getContext(), new SwipeDetector());
+    //only needed for clickToClose and the double click listener
+    private GestureDetector gestureDetector;
+
+    private void ensureGestureDetector() {
+        if (gestureDetector == null) {
+            gestureDetector = new GestureDetector(getContext(), new SwipeDetector());
+        }
+    }
 
     class SwipeDetector extends GestureDetector.SimpleOnGestureListener {
         @Override
@@ -1210,8 +2190,10 @@ public class SwipeLayout extends FrameLayout {
                 View target;
                 View bottom = getCurrentBottomView();
                 View surface = getSurfaceView();
-                if (bottom != null && e.getX() > bottom.getLeft() && e.getX() < bottom.getRight()
-                        && e.getY() > bottom.getTop() && e.getY() < bottom.getBottom()) {
+                int bottomLeft = bottom == null ? 0 : getViewLeft(bottom);
+                int bottomTop = bottom == null ? 0 : getViewTop(bottom);
+                if (bottom != null && e.getX() > bottomLeft && e.getX() < bottomLeft + bottom.getWidth()
+                        && e.getY() > bottomTop && e.getY() < bottomTop + bottom.getHeight()) {
                     target = bottom;
                 } else {
                     target = surface;
@@ -1246,6 +2228,30 @@ public class SwipeLayout extends FrameLayout {
         requestLayout();
     }
 
+    /**
+     * Select how this layout moves its children while swiping, see {@link DragEngine}.
+     * {@link DragEngine#Translation} falls back to {@link DragEngine#Layout} below API 11.
+     * The layout is closed without animation when the engine changes.
+     */
+    public void setDragEngine(DragEngine engine) {
+        if (engine == DragEngine.Translation && Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB) {
+            engine = DragEngine.Layout;
+        }
+        if (engine == mDragEngine) return;
+        close(false, false);
+        mDragEngine = engine;
+        if (mViewBoundCache != null) mViewBoundCache.clear();
+        for (int i = 0; i < getChildCount(); i++) {
+            ViewCompat.setTranslationX(getChildAt(i), 0);
+            ViewCompat.setTranslationY(getChildAt(i), 0);
+        }
+        requestLayout();
+    }
+
+    public DragEngine getDragEngine() {
+        return mDragEngine;
+    }
+
     public DragEdge getDragEdge() {
         return mCurrentDragEdge;
     }
@@ -1270,11 +2276,18 @@ public class SwipeLayout extends FrameLayout {
      * return null if there is no bottom view
      */
     public View getCurrentBottomView() {
-        List<View> bottoms = getBottomViews();
-        if (mCurrentDragEdge.ordinal() < bottoms.size()) {
-            return bottoms.get(mCurrentDragEdge.ordinal());
+        return mDragEdgeViews[mCurrentDragEdge.ordinal()];
+    }
+
+    /**
+     * allocation free alternative to {@code getBottomViews().contains(child)}
+     */
+    private boolean isBottomView(View child) {
+        if (child == null) return false;
+        for (View bottom : mDragEdgeViews) {
+            if (bottom == child) return true;
         }
-        return null;
+        return false;
     }
 
     /**
@@ -1282,8 +2295,8 @@ public class SwipeLayout extends FrameLayout {
      */
     public List<View> getBottomViews() {
         ArrayList<View> bottoms = new ArrayList<View>();
-        for (DragEdge dragEdge : DragEdge.values()) {
-            bottoms.add(mDragEdges.get(dragEdge));
+        for (DragEdge dragEdge : DRAG_EDGES) {
+            bottoms.add(mDragEdgeViews[dragEdge.ordinal()]);
         }
         return bottoms;
     }
@@ -1294,26 +2307,47 @@ public class SwipeLayout extends FrameLayout {
         Close
     }
 
+    private Status mOpenStatus = Status.Close;
+
     /**
-     * get the open status.
+     * get the open status. The status is tracked whenever this layout moves the surface, so this is
+     * a plain field read.
      *
      * @return {@link com.daimajia.swipe.SwipeLayout.Status} Open , Close or
      * Middle.
      */
     public Status getOpenStatus() {
+        return mOpenStatus;
+    }
+
+    /**
+     * recompute the open status from the surface position, must be called after every surface move.
+     */
+    private void updateOpenStatus() {
+        Status oldStatus = mOpenStatus;
+        Status newStatus = computeOpenStatus();
+        if (oldStatus == newStatus) return;
+        mOpenStatus = newStatus;
+        if (newStatus == Status.Close) scheduleBottomViewRecycle();
+        OnStatusChangeListener[] listeners = mStatusChangeListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onStatusChanged(this, oldStatus, newStatus);
+        }
+    }
+
+    private Status computeOpenStatus() {
         View surfaceView = getSurfaceView();
         if (surfaceView == null) {
             return Status.Close;
         }
-        int surfaceLeft = surfaceView.getLeft();
-        int surfaceTop = surfaceView.getTop();
-        if (surfaceLeft == getPaddingLeft() && surfaceTop == getPaddingTop()) return Status.Close;
-
-        if (surfaceLeft == (getPaddingLeft() - mDragDistance) || surfaceLeft == (getPaddingLeft() + mDragDistance)
-                || surfaceTop == (getPaddingTop() - mDragDistance) || surfaceTop == (getPaddingTop() + mDragDistance))
-            return Status.Open;
-
-        return Status.Middle;
+        switch (syncGeometry().computeStatus(getViewLeft(surfaceView), getViewTop(surfaceView))) {
+            case SwipeGeometry.STATUS_CLOSE:
+                return Status.Close;
+            case SwipeGeometry.STATUS_OPEN:
+                return Status.Open;
+            default:
+                return Status.Middle;
+        }
     }
 
 
@@ -1325,45 +2359,18 @@ public class SwipeLayout extends FrameLayout {
      * @param isCloseBeforeDragged the open state before drag
      */
     protected void processHandRelease(float xvel, float yvel, boolean isCloseBeforeDragged) {
-        float minVelocity = mDragHelper.getMinVelocity();
+        float minVelocity = mMinVelocity;
         View surfaceView = getSurfaceView();
         DragEdge currentDragEdge = mCurrentDragEdge;
         if (currentDragEdge == null || surfaceView == null) {
             return;
         }
         float willOpenPercent = (isCloseBeforeDragged ? mWillOpenPercentAfterClose : mWillOpenPercentAfterOpen);
-        if (currentDragEdge == DragEdge.Left) {
-            if (xvel > minVelocity) open();
-            else if (xvel < -minVelocity) close();
-            else {
-                float openPercent = 1f * getSurfaceView().getLeft() / mDragDistance;
-                if (openPercent > willOpenPercent) open();
-                else close();
-            }
-        } else if (currentDragEdge == DragEdge.Right) {
-            if (xvel > minVelocity) close();
-            else if (xvel < -minVelocity) open();
-            else {
-                float openPercent = 1f * (-getSurfaceView().getLeft()) / mDragDistance;
-                if (openPercent > willOpenPercent) open();
-                else close();
-            }
-        } else if (currentDragEdge == DragEdge.Top) {
-            if (yvel > minVelocity) open();
-            else if (yvel < -minVelocity) close();
-            else {
-                float openPercent = 1f * getSurfaceView().getTop() / mDragDistance;
-                if (openPercent > willOpenPercent) open();
-                else close();
-            }
-        } else if (currentDragEdge == DragEdge.Bottom) {
-            if (yvel > minVelocity) close();
-            else if (yvel < -minVelocity) open();
-            else {
-                float openPercent = 1f * (-getSurfaceView().getTop()) / mDragDistance;
-                if (openPercent > willOpenPercent) open();
-                else close();
-            }
+        if (syncGeometry().shouldOpen(xvel, yvel, minVelocity, getViewLeft(surfaceView), getViewTop(surfaceView),
+                willOpenPercent)) {
+            open();
+        } else {
+            close();
         }
     }
 
@@ -1379,27 +2386,36 @@ public class SwipeLayout extends FrameLayout {
     }
 
     public void open(boolean smooth, boolean notify) {
-        View surface = getSurfaceView(), bottom = getCurrentBottomView();
+        View surface = getSurfaceView();
         if (surface == null) {
             return;
         }
+        if (inflateDragStub(mCurrentDragEdge)) updateBottomViews();
+        View bottom = getCurrentBottomView();
         int dx, dy;
         Rect rect = computeSurfaceLayoutArea(true);
         if (smooth) {
-            mDragHelper.smoothSlideViewTo(surface, rect.left, rect.top);
+            smoothSlideViewTo(surface, rect.left, rect.top);
         } else {
-            dx = rect.left - surface.getLeft();
-            dy = rect.top - surface.getTop();
-            surface.layout(rect.left, rect.top, rect.right, rect.bottom);
-            if (getShowMode() == ShowMode.PullOut) {
+            abortSettleAnimation();
+            int l = rect.left, t = rect.top, r = rect.right, b = rect.bottom;
+            dx = l - getViewLeft(surface);
+            dy = t - getViewTop(surface);
+            if (mDragEngine == DragEngine.Translation) {
+                setSurfaceTranslation(l - surface.getLeft(), t - surface.getTop());
+            } else {
+                surface.layout(l, t, r, b);
+            }
+            if (getShowMode() == ShowMode.PullOut && mDragEngine == DragEngine.Layout) {
                 Rect bRect = computeBottomLayoutAreaViaSurface(ShowMode.PullOut, rect);
                 if (bottom != null) {
                     bottom.layout(bRect.left, bRect.top, bRect.right, bRect.bottom);
                 }
             }
+            updateOpenStatus();
             if (notify) {
-                dispatchRevealEvent(rect.left, rect.top, rect.right, rect.bottom);
-                dispatchSwipeEvent(rect.left, rect.top, dx, dy);
+                dispatchRevealEvent(l, t, r, b);
+                dispatchSwipeEvent(l, t, dx, dy);
             } else {
                 safeBottomView();
             }
@@ -1446,15 +2462,22 @@ public class SwipeLayout extends FrameLayout {
         }
         int dx, dy;
         if (smooth)
-            mDragHelper.smoothSlideViewTo(getSurfaceView(), getPaddingLeft(), getPaddingTop());
+            smoothSlideViewTo(getSurfaceView(), getPaddingLeft(), getPaddingTop());
         else {
+            abortSettleAnimation();
             Rect rect = computeSurfaceLayoutArea(false);
-            dx = rect.left - surface.getLeft();
-            dy = rect.top - surface.getTop();
-            surface.layout(rect.left, rect.top, rect.right, rect.bottom);
+            int l = rect.left, t = rect.top, r = rect.right, b = rect.bottom;
+            dx = l - getViewLeft(surface);
+            dy = t - getViewTop(surface);
+            if (mDragEngine == DragEngine.Translation) {
+                setSurfaceTranslation(l - surface.getLeft(), t - surface.getTop());
+            } else {
+                surface.layout(l, t, r, b);
+            }
+            updateOpenStatus();
             if (notify) {
-                dispatchRevealEvent(rect.left, rect.top, rect.right, rect.bottom);
-                dispatchSwipeEvent(rect.left, rect.top, dx, dy);
+                dispatchRevealEvent(l, t, r, b);
+                dispatchSwipeEvent(l, t, dx, dy);
             } else {
                 safeBottomView();
             }
@@ -1475,78 +2498,44 @@ public class SwipeLayout extends FrameLayout {
 
     /**
      * a helper function to compute the Rect area that surface will hold in.
+     * The returned Rect is shared, copy it if it has to outlive the next call.
      *
      * @param open open status or close status.
      */
     private Rect computeSurfaceLayoutArea(boolean open) {
-        int l = getPaddingLeft(), t = getPaddingTop();
-        if (open) {
-            if (mCurrentDragEdge == DragEdge.Left)
-                l = getPaddingLeft() + mDragDistance;
-            else if (mCurrentDragEdge == DragEdge.Right)
-                l = getPaddingLeft() - mDragDistance;
-            else if (mCurrentDragEdge == DragEdge.Top)
-                t = getPaddingTop() + mDragDistance;
-            else t = getPaddingTop() - mDragDistance;
-        }
-        return new Rect(l, t, l + getMeasuredWidth(), t + getMeasuredHeight());
+        return toRect(syncGeometry().surfaceArea(open, mBounds), mSurfaceArea);
     }
 
     private Rect computeBottomLayoutAreaViaSurface(ShowMode mode, Rect surfaceArea) {
-        Rect rect = surfaceArea;
         View bottomView = getCurrentBottomView();
+        mBounds.set(surfaceArea.left, surfaceArea.top, surfaceArea.right, surfaceArea.bottom);
+        syncGeometry().bottomAreaViaSurface(mode == ShowMode.PullOut, mBounds,
+                bottomView == null ? 0 : bottomView.getMeasuredWidth(),
+                bottomView == null ? 0 : bottomView.getMeasuredHeight(), mBounds);
+        return toRect(mBounds, mBottomArea);
+    }
 
-        int bl = rect.left, bt = rect.top, br = rect.right, bb = rect.bottom;
-        if (mode == ShowMode.PullOut) {
-            if (mCurrentDragEdge == DragEdge.Left)
-                bl = rect.left - mDragDistance;
-            else if (mCurrentDragEdge == DragEdge.Right)
-                bl = rect.right;
-            else if (mCurrentDragEdge == DragEdge.Top)
-                bt = rect.top - mDragDistance;
-            else bt = rect.bottom;
-
-            if (mCurrentDragEdge == DragEdge.Left || mCurrentDragEdge == DragEdge.Right) {
-                bb = rect.bottom;
-                br = bl + (bottomView == null ? 0 : bottomView.getMeasuredWidth());
-            } else {
-                bb = bt + (bottomView == null ? 0 : bottomView.getMeasuredHeight());
-                br = rect.right;
-            }
-        } else if (mode == ShowMode.LayDown) {
-            if (mCurrentDragEdge == DragEdge.Left)
-                br = bl + mDragDistance;
-            else if (mCurrentDragEdge == DragEdge.Right)
-                bl = br - mDragDistance;
-            else if (mCurrentDragEdge == DragEdge.Top)
-                bb = bt + mDragDistance;
-            else bt = bb - mDragDistance;
-
-        }
-        return new Rect(bl, bt, br, bb);
+    private Rect computeBottomLayDown(DragEdge dragEdge, Rect out) {
+        return toRect(syncGeometry().bottomLayDown(dragEdge.ordinal(), mBounds), out);
+    }
 
+    private static Rect toRect(Bounds bounds, Rect out) {
+        out.set(bounds.left, bounds.top, bounds.right, bounds.bottom);
+        return out;
     }
 
-    private Rect computeBottomLayDown(DragEdge dragEdge) {
-        int bl = getPaddingLeft(), bt = getPaddingTop();
-        int br, bb;
-        if (dragEdge == DragEdge.Right) {
-            bl = getMeasuredWidth() - mDragDistance;
-        } else if (dragEdge == DragEdge.Bottom) {
-            bt = getMeasuredHeight() - mDragDistance;
-        }
-        if (dragEdge == DragEdge.Left || dragEdge == DragEdge.Right) {
-            br = bl + mDragDistance;
-            bb = bt + getMeasuredHeight();
-        } else {
-            br = bl + getMeasuredWidth();
-            bb = bt + mDragDistance;
-        }
-        return new Rect(bl, bt, br, bb);
+    /**
+     * bring the shared position math up to date with this layout, see {@link SwipeGeometry}.
+     */
+    private SwipeGeometry syncGeometry() {
+        mGeometry.set(mCurrentDragEdge.ordinal(), mShowMode == ShowMode.PullOut, getPaddingLeft(), getPaddingTop(),
+                getMeasuredWidth(), getMeasuredHeight(), mDragDistance);
+        return mGeometry;
     }
 
     public void setOnDoubleClickListener(DoubleClickListener doubleClickListener) {
         mDoubleClickListener = doubleClickListener;
+        if (doubleClickListener != null) ensureGestureDetector();
     }
 
     public interface DoubleClickListener {
@@ -1565,21 +2554,28 @@ public class SwipeLayout extends FrameLayout {
     public void setDragEdge(DragEdge dragEdge) {
         clearDragEdge();
         if (getChildCount() >= 2) {
-            mDragEdges.put(dragEdge, getChildAt(getChildCount() - 2));
+            putDragEdge(dragEdge, getChildAt(getChildCount() - 2));
         }
         setCurrentDragEdge(dragEdge);
     }
 
     public void onViewRemoved(View child) {
-        for (Map.Entry<DragEdge, View> entry : new HashMap<DragEdge, View>(mDragEdges).entrySet()) {
-            if (entry.getValue() == child) {
-                mDragEdges.remove(entry.getKey());
+        mRevealGeometryValid = false;
+        for (DragEdge dragEdge : DRAG_EDGES) {
+            if (hasDragEdge(dragEdge) && mDragEdgeViews[dragEdge.ordinal()] == child) {
+                removeDragEdge(dragEdge);
             }
         }
+        updateOpenStatus();
     }
 
+    /**
+     * @return a live view of the configured drag edges and their bottom views, ordered as
+     * {@link DragEdge} is declared. Writes go through to this layout.
+     */
     public Map<DragEdge, View> getDragEdgeMap() {
-        return mDragEdges;
+        if (mDragEdgeMap == null) mDragEdgeMap = new DragEdgeMap();
+        return mDragEdgeMap;
     }
 
     /**
@@ -1587,7 +2583,7 @@ public class SwipeLayout extends FrameLayout {
      */
     @Deprecated
     public List<DragEdge> getDragEdges() {
-        return new ArrayList<DragEdge>(mDragEdges.keySet());
+        return new ArrayList<DragEdge>(getDragEdgeMap().keySet());
     }
 
     /**
@@ -1598,7 +2594,7 @@ public class SwipeLayout extends FrameLayout {
         clearDragEdge();
         for (int i = 0, size = Math.min(dragEdges.size(), getChildCount() - 1); i < size; i++) {
             DragEdge dragEdge = dragEdges.get(i);
-            mDragEdges.put(dragEdge, getChildAt(i));
+            putDragEdge(dragEdge, getChildAt(i));
         }
         if (dragEdges.size() == 0 || dragEdges.contains(DefaultDragEdge)) {
             setCurrentDragEdge(DefaultDragEdge);
@@ -1629,6 +2625,106 @@ public class SwipeLayout extends FrameLayout {
         addDrag(DragEdge.Bottom, findViewById(bottomId));
     }
 
+    /**
+     * {@link Map} facade over {@link #mDragEdgeViews} and {@link #mDragEdgeMask}, backs {@link #getDragEdgeMap()}.
+     */
+    private class DragEdgeMap extends AbstractMap<DragEdge, View> {
+
+        private Set<Entry<DragEdge, View>> mEntrySet;
+
+        @Override
+        public View get(Object key) {
+            return key instanceof DragEdge ? mDragEdgeViews[((DragEdge) key).ordinal()] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof DragEdge && hasDragEdge((DragEdge) key);
+        }
+
+        @Override
+        public View put(DragEdge key, View value) {
+            View old = mDragEdgeViews[key.ordinal()];
+            putDragEdge(key, value);
+            return old;
+        }
+
+        @Override
+        public View remove(Object key) {
+            if (!containsKey(key)) return null;
+            View old = mDragEdgeViews[((DragEdge) key).ordinal()];
+            removeDragEdge((DragEdge) key);
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return Integer.bitCount(mDragEdgeMask);
+        }
+
+        @Override
+        public void clear() {
+            clearDragEdge();
+        }
+
+        @Override
+        public Set<Entry<DragEdge, View>> entrySet() {
+            if (mEntrySet == null) {
+                mEntrySet = new AbstractSet<Entry<DragEdge, View>>() {
+                    @Override
+                    public Iterator<Entry<DragEdge, View>> iterator() {
+                        return new DragEdgeIterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return DragEdgeMap.this.size();
+                    }
+                };
+            }
+            return mEntrySet;
+        }
+    }
+
+    private class DragEdgeIterator implements Iterator<Map.Entry<DragEdge, View>> {
+        private int mNext = nextConfigured(0);
+        private int mLast = -1;
+
+        private int nextConfigured(int from) {
+            for (int i = from; i < DRAG_EDGES.length; i++) {
+                if ((mDragEdgeMask & (1 << i)) != 0) return i;
+            }
+            return DRAG_EDGES.length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mNext < DRAG_EDGES.length;
+        }
+
+        @Override
+        public Map.Entry<DragEdge, View> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            mLast = mNext;
+            mNext = nextConfigured(mNext + 1);
+            final DragEdge dragEdge = DRAG_EDGES[mLast];
+            return new AbstractMap.SimpleEntry<DragEdge, View>(dragEdge, mDragEdgeViews[mLast]) {
+                @Override
+                public View setValue(View value) {
+                    putDragEdge(dragEdge, value);
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (mLast < 0) throw new IllegalStateException();
+            removeDragEdge(DRAG_EDGES[mLast]);
+            mLast = -1;
+        }
+    }
+
     private float getCurrentOffset() {
         if (mCurrentDragEdge == null) return 0;
         return mEdgeSwipesOffset[mCurrentDragEdge.ordinal()];
@@ -1636,10 +2732,12 @@ public class SwipeLayout extends FrameLayout {
 
     private void setCurrentDragEdge(DragEdge dragEdge) {
         mCurrentDragEdge = dragEdge;
+        inflateDragStub(dragEdge);
         updateBottomViews();
     }
 
     private void updateBottomViews() {
+        mRevealGeometryValid = false;
         View currentBottomView = getCurrentBottomView();
         if (currentBottomView != null) {
             if (mCurrentDragEdge == DragEdge.Left || mCurrentDragEdge == DragEdge.Right) {
@@ -1654,6 +2752,7 @@ public class SwipeLayout extends FrameLayout {
         } else if (mShowMode == ShowMode.LayDown) {
             layoutLayDown();
         }
+        updateOpenStatus();
 
         safeBottomView();
     }
@@ -0,0 +1,124 @@
+package com.daimajia.swipe;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Advances the settle animation of many {@link SwipeLayout}s from a single frame callback.
+ *
+ * Without a driver every settling layout schedules its own {@code computeScroll} pass through
+ * {@code postInvalidateOnAnimation}. Closing twenty rows at once then means twenty independent
+ * invalidations per frame. Layouts sharing a driver (see {@link SwipeLayout#setSettleDriver}) are
+ * all stepped in one pass per vsync instead, and the ones that came to rest in that pass are
+ * reported together through {@link OnSettleCompleteListener}.
+ *
+ * Must be used from the main thread.
+ */
+public class SwipeSettleDriver {
+
+    public interface OnSettleCompleteListener {
+        /**
+         * @param layouts the layouts that finished settling in this frame, only valid during the call.
+         */
+        void onSettleComplete(List<SwipeLayout> layouts);
+    }
+
+    private static final long FALLBACK_FRAME_DELAY = 10;
+
+    private final ArrayList<SwipeLayout> mSettling = new ArrayList<>();
+    private final ArrayList<SwipeLayout> mCompleted = new ArrayList<>();
+    private final List<SwipeLayout> mCompletedView = Collections.unmodifiableList(mCompleted);
+    private OnSettleCompleteListener mOnSettleCompleteListener;
+    private boolean mFrameScheduled;
+
+    private FrameCallback mFrameCallback;
+    private Handler mHandler;
+    private final Runnable mFrameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            doFrame();
+        }
+    };
+
+    public void setOnSettleCompleteListener(OnSettleCompleteListener l) {
+        mOnSettleCompleteListener = l;
+    }
+
+    /**
+     * @return true if {@code layout} is currently stepped by this driver.
+     */
+    public boolean isSettling(SwipeLayout layout) {
+        return mSettling.contains(layout);
+    }
+
+    void schedule(SwipeLayout layout) {
+        if (!mSettling.contains(layout)) {
+            mSettling.add(layout);
+        }
+        scheduleFrame();
+    }
+
+    void cancel(SwipeLayout layout) {
+        mSettling.remove(layout);
+    }
+
+    private void scheduleFrame() {
+        if (mFrameScheduled) return;
+        mFrameScheduled = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            if (mFrameCallback == null) mFrameCallback = new FrameCallback(this);
+            mFrameCallback.post();
+        } else {
+            if (mHandler == null) mHandler = new Handler(Looper.getMainLooper());
+            mHandler.postDelayed(mFrameRunnable, FALLBACK_FRAME_DELAY);
+        }
+    }
+
+    private void doFrame() {
+        mFrameScheduled = false;
+        for (int i = mSettling.size() - 1; i >= 0; i--) {
+            SwipeLayout layout = mSettling.get(i);
+            if (!layout.continueSettling()) {
+                mSettling.remove(i);
+                mCompleted.add(layout);
+            }
+        }
+        if (!mSettling.isEmpty()) {
+            scheduleFrame();
+        }
+        if (!mCompleted.isEmpty()) {
+            if (mOnSettleCompleteListener != null) {
+                mOnSettleCompleteListener.onSettleComplete(mCompletedView);
+            }
+            mCompleted.clear();
+        }
+    }
+
+    /**
+     * kept in its own class so that Choreographer is only loaded on API 16+.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static class FrameCallback implements Choreographer.FrameCallback {
+        private final SwipeSettleDriver mDriver;
+
+        FrameCallback(SwipeSettleDriver driver) {
+            mDriver = driver;
+        }
+
+        void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mDriver.doFrame();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.daimajia.swipe;
+
+import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.RecyclerView;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewParent;
+
+import com.daimajia.swipe.interfaces.SwipeAdapterInterface;
+
+/**
+ * Drags the {@link SwipeLayout} rows of a RecyclerView from a single
+ * {@link RecyclerView.OnItemTouchListener}, instead of every row running its own ViewDragHelper,
+ * VelocityTracker and intercept logic. Only one row can be dragged at a time anyway.
+ *
+ * The rows have to be {@link SwipeLayout#setTouchCoordinated(boolean) coordinated}, see
+ * {@link com.daimajia.swipe.adapters.RecyclerSwipeAdapter#setTouchCoordinatorEnabled(boolean)}
+ * which installs both.
+ */
+public class SwipeTouchCoordinator implements RecyclerView.OnItemTouchListener {
+
+    private final SwipeAdapterInterface mSwipeAdapter;
+    private VelocityTracker mVelocityTracker;
+    private float mMaxVelocity = -1;
+
+    //the row under the current gesture, null if the gesture is not a swipe
+    private SwipeLayout mActiveLayout;
+    private boolean mDragging;
+    private float mDownX, mDownY;//raw position of the down event
+    private float mDragX, mDragY;//raw position where the drag was claimed
+
+    /**
+     * @param swipeAdapter the adapter of the RecyclerView, to find the SwipeLayout of a row.
+     */
+    public SwipeTouchCoordinator(SwipeAdapterInterface swipeAdapter) {
+        if (swipeAdapter == null) throw new IllegalArgumentException("swipeAdapter can not be null");
+        mSwipeAdapter = swipeAdapter;
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(RecyclerView rv, MotionEvent e) {
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                reset();
+                SwipeLayout layout = findSwipeLayout(rv, e);
+                if (layout == null || !layout.isSwipeEnabled() || !layout.isTouchCoordinated()) {
+                    return false;
+                }
+                MotionEvent local = toLayoutEvent(rv, layout, e);
+                boolean denied = layout.isSwipeDenied(local);
+                local.recycle();
+                if (denied) return false;
+
+                mActiveLayout = layout;
+                mDownX = e.getRawX();
+                mDownY = e.getRawY();
+                addMovement(e);
+                //catch a row that is still settling right where it is
+                if (layout.getOpenStatus() == SwipeLayout.Status.Middle) {
+                    startDrag(rv, e);
+                }
+                break;
+            case MotionEvent.ACTION_MOVE:
+                if (mActiveLayout == null) return false;
+                addMovement(e);
+                if (!mDragging) {
+                    local = toLayoutEvent(rv, mActiveLayout, e);
+                    boolean claimed = mActiveLayout.claimDrag(local, e.getRawX() - mDownX, e.getRawY() - mDownY);
+                    local.recycle();
+                    if (claimed) startDrag(rv, e);
+                }
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                reset();
+                break;
+        }
+        return mDragging;
+    }
+
+    @Override
+    public void onTouchEvent(RecyclerView rv, MotionEvent e) {
+        if (!mDragging || mActiveLayout == null) return;
+        addMovement(e);
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                mActiveLayout.coordinatedDragTo(e.getRawX() - mDragX, e.getRawY() - mDragY);
+                break;
+            case MotionEvent.ACTION_UP:
+                if (mMaxVelocity < 0) {
+                    mMaxVelocity = ViewConfiguration.get(rv.getContext()).getScaledMaximumFlingVelocity();
+                }
+                mVelocityTracker.computeCurrentVelocity(1000, mMaxVelocity);
+                mActiveLayout.releaseCoordinatedDrag(mVelocityTracker.getXVelocity(), mVelocityTracker.getYVelocity());
+                reset();
+                break;
+            case MotionEvent.ACTION_CANCEL:
+                mActiveLayout.releaseCoordinatedDrag(0, 0);
+                reset();
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+        //a child of the row took over the gesture
+        if (disallowIntercept && !mDragging) reset();
+    }
+
+    private void startDrag(RecyclerView rv, MotionEvent e) {
+        mDragging = true;
+        mDragX = e.getRawX();
+        mDragY = e.getRawY();
+        mActiveLayout.startCoordinatedDrag();
+        ViewParent parent = rv.getParent();
+        if (parent != null) parent.requestDisallowInterceptTouchEvent(true);
+    }
+
+    private void addMovement(MotionEvent e) {
+        if (mVelocityTracker == null) mVelocityTracker = VelocityTracker.obtain();
+        mVelocityTracker.addMovement(e);
+    }
+
+    private void reset() {
+        mActiveLayout = null;
+        mDragging = false;
+        if (mVelocityTracker != null) mVelocityTracker.clear();
+    }
+
+    private SwipeLayout findSwipeLayout(RecyclerView rv, MotionEvent e) {
+        View itemView = rv.findChildViewUnder(e.getX(), e.getY());
+        if (itemView == null) return null;
+        int position = rv.getChildAdapterPosition(itemView);
+        if (position == RecyclerView.NO_POSITION) return null;
+        View swipeLayout = itemView.findViewById(mSwipeAdapter.getSwipeLayoutResourceId(position));
+        return swipeLayout instanceof SwipeLayout ? (SwipeLayout) swipeLayout : null;
+    }
+
+    /**
+     * @return a copy of {@code e} in the coordinates of {@code layout}, as SwipeLayout's own
+     * intercept would see it. Recycle it after use.
+     */
+    private static MotionEvent toLayoutEvent(RecyclerView rv, SwipeLayout layout, MotionEvent e) {
+        float offsetX = 0, offsetY = 0;
+        View view = layout;
+        while (view != rv && view != null) {
+            offsetX += view.getLeft() + ViewCompat.getTranslationX(view);
+            offsetY += view.getTop() + ViewCompat.getTranslationY(view);
+            ViewParent parent = view.getParent();
+            view = parent instanceof View ? (View) parent : null;
+            if (view != null) {
+                offsetX -= view.getScrollX();
+                offsetY -= view.getScrollY();
+            }
+        }
+        MotionEvent local = MotionEvent.obtain(e);
+        local.offsetLocation(-offsetX, -offsetY);
+        return local;
+    }
+}
@@ -5,14 +5,17 @@ import android.view.ViewGroup;
 import android.widget.BaseAdapter;
 
 import com.daimajia.swipe.SwipeLayout;
+import com.daimajia.swipe.core.IntConsumer;
 import com.daimajia.swipe.implments.SwipeItemMangerImpl;
 import com.daimajia.swipe.interfaces.SwipeAdapterInterface;
+import com.daimajia.swipe.interfaces.SwipeItemKeyProvider;
 import com.daimajia.swipe.interfaces.SwipeItemMangerInterface;
+import com.daimajia.swipe.interfaces.SwipeOpenItemsInterface;
 import com.daimajia.swipe.util.Attributes;
 
 import java.util.List;
 
-public abstract class BaseSwipeAdapter extends BaseAdapter implements SwipeItemMangerInterface, SwipeAdapterInterface {
+public abstract class BaseSwipeAdapter extends BaseAdapter implements SwipeItemMangerInterface, SwipeOpenItemsInterface, SwipeAdapterInterface {
 
     protected SwipeItemMangerImpl mItemManger = new SwipeItemMangerImpl(this);
 
@@ -46,6 +49,11 @@ public abstract class BaseSwipeAdapter extends BaseAdapter implements SwipeItemM
         super.notifyDataSetChanged();
     }
 
+    @Override
+    public void notifySwipeStateChanged(int positionStart, int itemCount) {
+        super.notifyDataSetChanged();
+    }
+
 
     @Override
     public final View getView(int position, View convertView, ViewGroup parent) {
@@ -98,6 +106,27 @@ public abstract class BaseSwipeAdapter extends BaseAdapter implements SwipeItemM
         return mItemManger.isOpen(position);
     }
 
+    @Override
+    public void forEachOpen(IntConsumer consumer) {
+        mItemManger.forEachOpen(consumer);
+    }
+
+    @Override
+    public int getOpenItems(int[] out) {
+        return mItemManger.getOpenItems(out);
+    }
+
+    /**
+     * see {@link SwipeItemMangerImpl#setKeyProvider(SwipeItemKeyProvider)}.
+     */
+    public void setSwipeItemKeyProvider(SwipeItemKeyProvider provider) {
+        mItemManger.setKeyProvider(provider);
+    }
+
+    public int getOpenKeys(long[] out) {
+        return mItemManger.getOpenKeys(out);
+    }
+
     @Override
     public Attributes.Mode getMode() {
         return mItemManger.getMode();
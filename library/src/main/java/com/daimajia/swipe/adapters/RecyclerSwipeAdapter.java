@@ -4,28 +4,122 @@ import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
 import com.daimajia.swipe.SwipeLayout;
+import com.daimajia.swipe.SwipeTouchCoordinator;
+import com.daimajia.swipe.core.IntConsumer;
 import com.daimajia.swipe.implments.SwipeItemMangerImpl;
 import com.daimajia.swipe.interfaces.SwipeAdapterInterface;
+import com.daimajia.swipe.interfaces.SwipeItemKeyProvider;
 import com.daimajia.swipe.interfaces.SwipeItemMangerInterface;
+import com.daimajia.swipe.interfaces.SwipeOpenItemsInterface;
 import com.daimajia.swipe.util.Attributes;
 
 import java.util.List;
 
-public abstract class RecyclerSwipeAdapter<VH extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<VH> implements SwipeItemMangerInterface, SwipeAdapterInterface {
+public abstract class RecyclerSwipeAdapter<VH extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<VH> implements SwipeItemMangerInterface, SwipeOpenItemsInterface, SwipeAdapterInterface {
+
+    /**
+     * payload of the change notifications sent when only the swipe state of a row changed, see
+     * {@link #onBindViewHolder(RecyclerView.ViewHolder, int, List)}.
+     */
+    public static final Object PAYLOAD_SWIPE_STATE = new Object();
 
     public SwipeItemMangerImpl mItemManger = new SwipeItemMangerImpl(this);
 
+    private SwipeTouchCoordinator mTouchCoordinator;
+    private RecyclerView mRecyclerView;
+    //the adapter may be attached to more than one RecyclerView, the observer is registered once
+    private int mAttachedCount;
+
+    //moves open state along with structural changes, so they need no notifyDataSetChanged or closeAllItems
+    private final RecyclerView.AdapterDataObserver mPositionObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mItemManger.onItemRangeInserted(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mItemManger.onItemRangeRemoved(positionStart, itemCount);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            mItemManger.onItemRangeMoved(fromPosition, toPosition, itemCount);
+        }
+    };
+
+    /**
+     * Drag the rows from one {@link SwipeTouchCoordinator} on the RecyclerView instead of a
+     * ViewDragHelper in every row. Disabled by default.
+     */
+    public void setTouchCoordinatorEnabled(boolean enabled) {
+        if (enabled == (mTouchCoordinator != null)) return;
+        if (enabled) {
+            mTouchCoordinator = new SwipeTouchCoordinator(this);
+            if (mRecyclerView != null) mRecyclerView.addOnItemTouchListener(mTouchCoordinator);
+        } else {
+            if (mRecyclerView != null) mRecyclerView.removeOnItemTouchListener(mTouchCoordinator);
+            mTouchCoordinator = null;
+        }
+        mItemManger.setTouchCoordinated(enabled);
+    }
+
+    public boolean isTouchCoordinatorEnabled() {
+        return mTouchCoordinator != null;
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mRecyclerView = recyclerView;
+        //registered while attached only, an observer registered before setHasStableIds() makes it throw
+        if (mAttachedCount++ == 0) registerAdapterDataObserver(mPositionObserver);
+        if (mTouchCoordinator != null) recyclerView.addOnItemTouchListener(mTouchCoordinator);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        if (mTouchCoordinator != null) recyclerView.removeOnItemTouchListener(mTouchCoordinator);
+        if (--mAttachedCount == 0) unregisterAdapterDataObserver(mPositionObserver);
+        mRecyclerView = null;
+    }
+
     @Override
     public abstract VH onCreateViewHolder(ViewGroup parent, int viewType);
 
     @Override
     public abstract void onBindViewHolder(VH viewHolder, final int position);
 
+    /**
+     * Rows whose only pending change is {@link #PAYLOAD_SWIPE_STATE} just snap to their open state,
+     * everything else goes through {@link #onBindViewHolder(RecyclerView.ViewHolder, int)}.
+     */
+    @Override
+    public void onBindViewHolder(VH viewHolder, int position, List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            super.onBindViewHolder(viewHolder, position, payloads);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_SWIPE_STATE) {
+                super.onBindViewHolder(viewHolder, position, payloads);
+                return;
+            }
+        }
+        mItemManger.applySwipeState(viewHolder.itemView, position);
+    }
+
     @Override
     public void notifyDatasetChanged() {
         super.notifyDataSetChanged();
     }
 
+    @Override
+    public void notifySwipeStateChanged(int positionStart, int itemCount) {
+        notifyItemRangeChanged(positionStart, itemCount, PAYLOAD_SWIPE_STATE);
+    }
+
     @Override
     public void openItem(int position) {
         mItemManger.openItem(position);
@@ -66,6 +160,27 @@ public abstract class RecyclerSwipeAdapter<VH extends RecyclerView.ViewHolder> e
         return mItemManger.isOpen(position);
     }
 
+    @Override
+    public void forEachOpen(IntConsumer consumer) {
+        mItemManger.forEachOpen(consumer);
+    }
+
+    @Override
+    public int getOpenItems(int[] out) {
+        return mItemManger.getOpenItems(out);
+    }
+
+    /**
+     * see {@link SwipeItemMangerImpl#setKeyProvider(SwipeItemKeyProvider)}.
+     */
+    public void setSwipeItemKeyProvider(SwipeItemKeyProvider provider) {
+        mItemManger.setKeyProvider(provider);
+    }
+
+    public int getOpenKeys(long[] out) {
+        return mItemManger.getOpenKeys(out);
+    }
+
     @Override
     public Attributes.Mode getMode() {
         return mItemManger.getMode();
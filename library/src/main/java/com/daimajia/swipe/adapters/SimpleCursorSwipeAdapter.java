@@ -7,14 +7,17 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import com.daimajia.swipe.SwipeLayout;
+import com.daimajia.swipe.core.IntConsumer;
 import com.daimajia.swipe.implments.SwipeItemMangerImpl;
 import com.daimajia.swipe.interfaces.SwipeAdapterInterface;
+import com.daimajia.swipe.interfaces.SwipeItemKeyProvider;
 import com.daimajia.swipe.interfaces.SwipeItemMangerInterface;
+import com.daimajia.swipe.interfaces.SwipeOpenItemsInterface;
 import com.daimajia.swipe.util.Attributes;
 
 import java.util.List;
 
-public abstract class SimpleCursorSwipeAdapter extends SimpleCursorAdapter implements SwipeItemMangerInterface, SwipeAdapterInterface {
+public abstract class SimpleCursorSwipeAdapter extends SimpleCursorAdapter implements SwipeItemMangerInterface, SwipeOpenItemsInterface, SwipeAdapterInterface {
 
     private SwipeItemMangerImpl mItemManger = new SwipeItemMangerImpl(this);
 
@@ -33,6 +36,11 @@ public abstract class SimpleCursorSwipeAdapter extends SimpleCursorAdapter imple
         return v;
     }
 
+    @Override
+    public void notifySwipeStateChanged(int positionStart, int itemCount) {
+        notifyDataSetChanged();
+    }
+
     @Override
     public void openItem(int position) {
         mItemManger.openItem(position);
@@ -68,6 +76,27 @@ public abstract class SimpleCursorSwipeAdapter extends SimpleCursorAdapter imple
         return mItemManger.isOpen(position);
     }
 
+    @Override
+    public void forEachOpen(IntConsumer consumer) {
+        mItemManger.forEachOpen(consumer);
+    }
+
+    @Override
+    public int getOpenItems(int[] out) {
+        return mItemManger.getOpenItems(out);
+    }
+
+    /**
+     * see {@link SwipeItemMangerImpl#setKeyProvider(SwipeItemKeyProvider)}.
+     */
+    public void setSwipeItemKeyProvider(SwipeItemKeyProvider provider) {
+        mItemManger.setKeyProvider(provider);
+    }
+
+    public int getOpenKeys(long[] out) {
+        return mItemManger.getOpenKeys(out);
+    }
+
     @Override
     public Attributes.Mode getMode() {
         return mItemManger.getMode();
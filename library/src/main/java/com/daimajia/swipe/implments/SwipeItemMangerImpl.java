@@ -2,13 +2,21 @@ package com.daimajia.swipe.implments;
 
 import android.view.View;
 
+import com.daimajia.swipe.BottomViewPool;
 import com.daimajia.swipe.SimpleSwipeListener;
 import com.daimajia.swipe.SwipeLayout;
+import com.daimajia.swipe.SwipeSettleDriver;
+import com.daimajia.swipe.core.IntConsumer;
+import com.daimajia.swipe.core.OpenKeyState;
+import com.daimajia.swipe.core.OpenItemState;
 import com.daimajia.swipe.interfaces.SwipeAdapterInterface;
+import com.daimajia.swipe.interfaces.SwipeItemKeyProvider;
 import com.daimajia.swipe.interfaces.SwipeItemMangerInterface;
+import com.daimajia.swipe.interfaces.SwipeOpenItemsInterface;
 import com.daimajia.swipe.util.Attributes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -17,18 +25,37 @@ import java.util.Set;
 /**
  * SwipeItemMangerImpl is a helper class to help all the adapters to maintain open status.
  */
-public class SwipeItemMangerImpl implements SwipeItemMangerInterface {
+public class SwipeItemMangerImpl implements SwipeItemMangerInterface, SwipeOpenItemsInterface {
 
     private Attributes.Mode mode = Attributes.Mode.Single;
-    public final int INVALID_POSITION = -1;
+    public final int INVALID_POSITION = OpenItemState.INVALID_POSITION;
 
-    protected int mOpenPosition = INVALID_POSITION;
+    private static final int[] NO_POSITIONS = new int[0];
+    private int[] mBoundOpenPositions = NO_POSITIONS;
 
-    protected Set<Integer> mOpenPositions = new HashSet<Integer>();
+    //replaces the former mOpenPosition and mOpenPositions fields
+    protected final OpenItemState mOpenItems = new OpenItemState();
+    //used instead of mOpenItems while a key provider is set
+    protected final OpenKeyState mOpenKeys = new OpenKeyState();
+    protected SwipeItemKeyProvider mKeyProvider;
     protected Set<SwipeLayout> mShownLayouts = new HashSet<SwipeLayout>();
+    //layouts that are open or on their way, the only ones closeAllExcept and closeAllItems touch.
+    //Single mode only needs the one reference.
+    protected final Set<SwipeLayout> mOpenLayouts = new HashSet<SwipeLayout>();
+    protected SwipeLayout mOpenLayout;
+    private final ArrayList<SwipeLayout> mClosingLayouts = new ArrayList<SwipeLayout>();
 
     protected SwipeAdapterInterface swipeAdapterInterface;
 
+    //steps the close animations of all bound layouts in one pass per frame, see closeAllItems()
+    protected final SwipeSettleDriver mSettleDriver = new SwipeSettleDriver();
+
+    //lends bottom views to the swiped rows, null when every row inflates its own
+    protected BottomViewPool mBottomViewPool;
+
+    //rows leave dragging to a SwipeTouchCoordinator
+    protected boolean mTouchCoordinated = false;
+
     public SwipeItemMangerImpl(SwipeAdapterInterface swipeAdapterInterface) {
         if (swipeAdapterInterface == null)
             throw new IllegalArgumentException("SwipeAdapterInterface can not be null");
@@ -41,10 +68,19 @@ public class SwipeItemMangerImpl implements SwipeItemMangerInterface {
     }
 
     public void setMode(Attributes.Mode mode) {
+        //the open state is forgotten below, so the rows still open would be out of reach of
+        //closeAllExcept and closeAllItems
+        if (mOpenLayout != null) mClosingLayouts.add(mOpenLayout);
+        mClosingLayouts.addAll(mOpenLayouts);
+        for (int i = 0; i < mClosingLayouts.size(); i++) {
+            mClosingLayouts.get(i).close(false);
+        }
+        mClosingLayouts.clear();
         this.mode = mode;
-        mOpenPositions.clear();
-        mShownLayouts.clear();
-        mOpenPosition = INVALID_POSITION;
+        mOpenItems.setMultiple(mode == Attributes.Mode.Multiple);
+        mOpenKeys.setMultiple(mode == Attributes.Mode.Multiple);
+        mOpenLayouts.clear();
+        mOpenLayout = null;
     }
 
     public void bind(View view, int position) {
@@ -53,75 +89,299 @@ public class SwipeItemMangerImpl implements SwipeItemMangerInterface {
         if (swipeLayout == null)
             throw new IllegalStateException("can not find SwipeLayout in target view");
 
+        long key = keyOf(position);
         if (swipeLayout.getTag(resId) == null) {
-            OnLayoutListener onLayoutListener = new OnLayoutListener(position);
-            SwipeMemory swipeMemory = new SwipeMemory(position);
+            OnLayoutListener onLayoutListener = new OnLayoutListener(key);
+            SwipeMemory swipeMemory = new SwipeMemory(key);
             swipeLayout.addSwipeListener(swipeMemory);
             swipeLayout.addOnLayoutListener(onLayoutListener);
+            swipeLayout.setSettleDriver(mSettleDriver);
+            swipeLayout.setBottomViewProvider(mBottomViewPool);
+            swipeLayout.setTouchCoordinated(mTouchCoordinated);
             swipeLayout.setTag(resId, new ValueBox(position, swipeMemory, onLayoutListener));
             mShownLayouts.add(swipeLayout);
         } else {
             ValueBox valueBox = (ValueBox) swipeLayout.getTag(resId);
-            valueBox.swipeMemory.setPosition(position);
-            valueBox.onLayoutListener.setPosition(position);
+            if (valueBox.position != position || swipeLayout.getOpenStatus() == SwipeLayout.Status.Close) {
+                //a borrowed bottom view was filled for the previous item, or is not showing at all
+                swipeLayout.recycleBottomViews();
+            }
+            swipeLayout.setBottomViewProvider(mBottomViewPool);
+            valueBox.swipeMemory.setKey(key);
+            valueBox.onLayoutListener.setKey(key);
             valueBox.position = position;
+            //back into the set after removeShownLayouts, or its position would stop following changes
+            mShownLayouts.add(swipeLayout);
+        }
+    }
+
+    /**
+     * Key the open state by {@link SwipeItemKeyProvider#getSwipeItemKey(int)} instead of by
+     * position, so an open item stays open, and only that item, across inserts, removes and moves
+     * without closing everything or rebinding the rows around the change. Pass null to go back to
+     * positions. Either way every item is closed, so set it before the adapter is first shown.
+     *
+     * While keyed, {@link #getOpenItems()}, {@link #forEachOpen(IntConsumer)} and
+     * {@link #getOpenItems(int[])} only report the open items whose rows are currently bound,
+     * {@link #getOpenKeys(long[])} lists all of them.
+     */
+    public void setKeyProvider(SwipeItemKeyProvider provider) {
+        mKeyProvider = provider;
+        mOpenItems.clear();
+        mOpenKeys.clear();
+    }
+
+    public SwipeItemKeyProvider getKeyProvider() {
+        return mKeyProvider;
+    }
+
+    /**
+     * Copy the keys of the open items into {@code out}, as many as fit. Without a key provider the
+     * keys are the open positions.
+     *
+     * @return the number of open items, which may be larger than {@code out.length}.
+     */
+    public int getOpenKeys(long[] out) {
+        return mKeyProvider != null ? mOpenKeys.getOpenKeys(out) : mOpenItems.getOpenItems(out);
+    }
+
+    private long keyOf(int position) {
+        return mKeyProvider != null ? mKeyProvider.getSwipeItemKey(position) : position;
+    }
+
+    private void markOpen(long key) {
+        if (mKeyProvider != null) {
+            mOpenKeys.open(key);
+        } else {
+            //ignores INVALID_POSITION, a row whose item was removed and that has not been rebound yet
+            mOpenItems.open((int) key);
+        }
+    }
+
+    private void markClosed(long key) {
+        if (mKeyProvider != null) {
+            mOpenKeys.close(key);
+        } else {
+            mOpenItems.close((int) key);
+        }
+    }
+
+    private boolean isKeyOpen(long key) {
+        return mKeyProvider != null ? mOpenKeys.isOpen(key) : mOpenItems.isOpen((int) key);
+    }
+
+    /**
+     * While keyed, positions are only known for the items that have a bound row. Collects the
+     * positions of those rows whose item is open into {@link #mBoundOpenPositions}, each once.
+     *
+     * @return the number of positions collected.
+     */
+    private int collectBoundOpenPositions() {
+        int count = 0;
+        for (SwipeLayout s : mShownLayouts) {
+            ValueBox valueBox = getValueBox(s);
+            if (valueBox == null || valueBox.position == INVALID_POSITION
+                    || !isKeyOpen(valueBox.swipeMemory.key)) continue;
+            boolean seen = false;
+            for (int i = 0; i < count && !seen; i++) {
+                seen = mBoundOpenPositions[i] == valueBox.position;
+            }
+            if (seen) continue;
+            if (count == mBoundOpenPositions.length) {
+                mBoundOpenPositions = Arrays.copyOf(mBoundOpenPositions, Math.max(8, count * 2));
+            }
+            mBoundOpenPositions[count++] = valueBox.position;
+        }
+        return count;
+    }
+
+    /**
+     * Follow {@code count} items inserted at {@code start}, without rebinding: open positions and
+     * the positions of the bound rows after them move down. Runs in the number of open items and
+     * bound rows, not in the number of items.
+     */
+    public void onItemRangeInserted(int start, int count) {
+        if (mKeyProvider == null) mOpenItems.onItemRangeInserted(start, count);
+        for (SwipeLayout s : mShownLayouts) {
+            ValueBox valueBox = getValueBox(s);
+            if (valueBox != null) {
+                valueBox.setPosition(OpenItemState.positionAfterInsert(valueBox.position, start, count));
+            }
+        }
+    }
+
+    /**
+     * Follow {@code count} items removed at {@code start}, see {@link #onItemRangeInserted(int, int)}.
+     * The removed items are no longer open.
+     */
+    public void onItemRangeRemoved(int start, int count) {
+        if (mKeyProvider == null) mOpenItems.onItemRangeRemoved(start, count);
+        for (SwipeLayout s : mShownLayouts) {
+            ValueBox valueBox = getValueBox(s);
+            if (valueBox != null) {
+                valueBox.setPosition(OpenItemState.positionAfterRemove(valueBox.position, start, count));
+            }
+        }
+    }
+
+    /**
+     * Follow {@code count} items moved from {@code from} to {@code to}, see
+     * {@link #onItemRangeInserted(int, int)}.
+     */
+    public void onItemRangeMoved(int from, int to, int count) {
+        if (mKeyProvider == null) mOpenItems.onItemRangeMoved(from, to, count);
+        for (SwipeLayout s : mShownLayouts) {
+            ValueBox valueBox = getValueBox(s);
+            if (valueBox != null) {
+                valueBox.setPosition(OpenItemState.positionAfterMove(valueBox.position, from, to, count));
+            }
+        }
+    }
+
+    private ValueBox getValueBox(SwipeLayout layout) {
+        Object tag = layout.getTag(layout.getId());
+        return tag instanceof ValueBox ? (ValueBox) tag : null;
+    }
+
+    /**
+     * @return the driver shared by every layout bound through this manager, register a
+     * {@link SwipeSettleDriver.OnSettleCompleteListener} on it to learn when rows come to rest.
+     */
+    public SwipeSettleDriver getSettleDriver() {
+        return mSettleDriver;
+    }
+
+    /**
+     * Share the bottom views of stub-backed drag edges between all rows bound through this manager.
+     * Use {@link #getPosition(SwipeLayout)} in the pool's
+     * {@link BottomViewPool.OnBindBottomViewListener} to fill a borrowed view for its row.
+     */
+    public void setBottomViewPool(BottomViewPool pool) {
+        mBottomViewPool = pool;
+        for (SwipeLayout s : mShownLayouts) {
+            s.setBottomViewProvider(pool);
         }
     }
 
+    public BottomViewPool getBottomViewPool() {
+        return mBottomViewPool;
+    }
+
+    /**
+     * make every row bound through this manager leave dragging to a
+     * {@link com.daimajia.swipe.SwipeTouchCoordinator}, see {@link SwipeLayout#setTouchCoordinated(boolean)}.
+     */
+    public void setTouchCoordinated(boolean coordinated) {
+        mTouchCoordinated = coordinated;
+        for (SwipeLayout s : mShownLayouts) {
+            s.setTouchCoordinated(coordinated);
+        }
+    }
+
+    public boolean isTouchCoordinated() {
+        return mTouchCoordinated;
+    }
+
+    /**
+     * @return the position {@code layout} was last bound to, INVALID_POSITION if it was not bound
+     * through this manager.
+     */
+    public int getPosition(SwipeLayout layout) {
+        ValueBox valueBox = getValueBox(layout);
+        return valueBox != null ? valueBox.position : INVALID_POSITION;
+    }
+
     @Override
     public void openItem(int position) {
-        if (mode == Attributes.Mode.Multiple) {
-            if (!mOpenPositions.contains(position))
-                mOpenPositions.add(position);
-        } else {
-            mOpenPosition = position;
+        markOpen(keyOf(position));
+        if (mode == Attributes.Mode.Single && mOpenLayout != null) {
+            //the row still showing the item that was open before
+            ValueBox valueBox = getValueBox(mOpenLayout);
+            if (valueBox != null && valueBox.position != position && valueBox.position != INVALID_POSITION) {
+                swipeAdapterInterface.notifySwipeStateChanged(valueBox.position, 1);
+            }
         }
-        swipeAdapterInterface.notifyDatasetChanged();
+        swipeAdapterInterface.notifySwipeStateChanged(position, 1);
     }
 
     @Override
     public void closeItem(int position) {
-        if (mode == Attributes.Mode.Multiple) {
-            mOpenPositions.remove(position);
+        markClosed(keyOf(position));
+        swipeAdapterInterface.notifySwipeStateChanged(position, 1);
+    }
+
+    /**
+     * Bring the SwipeLayout in {@code view}, already bound to {@code position}, to its recorded
+     * open state without rebinding anything else, for a swipe-state-only change notification.
+     */
+    public void applySwipeState(View view, int position) {
+        SwipeLayout swipeLayout = (SwipeLayout) view.findViewById(swipeAdapterInterface.getSwipeLayoutResourceId(position));
+        if (swipeLayout == null)
+            throw new IllegalStateException("can not find SwipeLayout in target view");
+        if (isOpen(position)) {
+            swipeLayout.open(false, false);
+            trackOpen(swipeLayout);
         } else {
-            if (mOpenPosition == position)
-                mOpenPosition = INVALID_POSITION;
+            swipeLayout.close(false, false);
+            untrackOpen(swipeLayout);
         }
-        swipeAdapterInterface.notifyDatasetChanged();
+    }
+
+    private void trackOpen(SwipeLayout layout) {
+        if (mode == Attributes.Mode.Single) {
+            mOpenLayout = layout;
+        } else {
+            mOpenLayouts.add(layout);
+        }
+    }
+
+    private void untrackOpen(SwipeLayout layout) {
+        if (mOpenLayout == layout) mOpenLayout = null;
+        mOpenLayouts.remove(layout);
     }
 
     @Override
     public void closeAllExcept(SwipeLayout layout) {
-        for (SwipeLayout s : mShownLayouts) {
+        if (mode == Attributes.Mode.Single) {
+            if (mOpenLayout != null && mOpenLayout != layout)
+                mOpenLayout.close();
+            return;
+        }
+        //closing may report onClose right away, which untracks the layout
+        mClosingLayouts.addAll(mOpenLayouts);
+        for (int i = 0; i < mClosingLayouts.size(); i++) {
+            SwipeLayout s = mClosingLayouts.get(i);
             if (s != layout)
                 s.close();
         }
+        mClosingLayouts.clear();
     }
 
     @Override
     public void closeAllItems() {
-        if (mode == Attributes.Mode.Multiple) {
-            mOpenPositions.clear();
-        } else {
-            mOpenPosition = INVALID_POSITION;
-        }
-        for (SwipeLayout s : mShownLayouts) {
-            s.close();
-        }
+        mOpenItems.clear();
+        mOpenKeys.clear();
+        closeAllExcept(null);
     }
 
     @Override
     public void removeShownLayouts(SwipeLayout layout) {
         mShownLayouts.remove(layout);
+        untrackOpen(layout);
     }
 
     @Override
     public List<Integer> getOpenItems() {
-        if (mode == Attributes.Mode.Multiple) {
-            return new ArrayList<Integer>(mOpenPositions);
-        } else {
-            return Collections.singletonList(mOpenPosition);
+        if (mKeyProvider == null) return mOpenItems.getOpenItems();
+        int count = collectBoundOpenPositions();
+        if (count == 0 && mode == Attributes.Mode.Single) {
+            return Collections.singletonList(INVALID_POSITION);
         }
+        List<Integer> items = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(mBoundOpenPositions[i]);
+        }
+        return items;
     }
 
     @Override
@@ -131,13 +391,29 @@ public class SwipeItemMangerImpl implements SwipeItemMangerInterface {
 
     @Override
     public boolean isOpen(int position) {
-        if (mode == Attributes.Mode.Multiple) {
-            return mOpenPositions.contains(position);
-        } else {
-            return mOpenPosition == position;
+        return isKeyOpen(keyOf(position));
+    }
+
+    @Override
+    public void forEachOpen(IntConsumer consumer) {
+        if (mKeyProvider == null) {
+            mOpenItems.forEachOpen(consumer);
+            return;
+        }
+        int count = collectBoundOpenPositions();
+        for (int i = 0; i < count; i++) {
+            consumer.accept(mBoundOpenPositions[i]);
         }
     }
 
+    @Override
+    public int getOpenItems(int[] out) {
+        if (mKeyProvider == null) return mOpenItems.getOpenItems(out);
+        int count = collectBoundOpenPositions();
+        System.arraycopy(mBoundOpenPositions, 0, out, 0, Math.min(count, out.length));
+        return count;
+    }
+
     class ValueBox {
         OnLayoutListener onLayoutListener;
         SwipeMemory swipeMemory;
@@ -148,26 +424,39 @@ public class SwipeItemMangerImpl implements SwipeItemMangerInterface {
             this.onLayoutListener = onLayoutListener;
             this.position = position;
         }
+
+        /**
+         * the row now shows {@code position} without having been rebound.
+         */
+        void setPosition(int position) {
+            this.position = position;
+            if (mKeyProvider == null) {
+                swipeMemory.setKey(position);
+                onLayoutListener.setKey(position);
+            }
+        }
     }
 
     class OnLayoutListener implements SwipeLayout.OnLayout {
 
-        private int position;
+        private long key;
 
-        OnLayoutListener(int position) {
-            this.position = position;
+        OnLayoutListener(long key) {
+            this.key = key;
         }
 
-        public void setPosition(int position) {
-            this.position = position;
+        public void setKey(long key) {
+            this.key = key;
         }
 
         @Override
         public void onLayout(SwipeLayout v) {
-            if (isOpen(position)) {
+            if (isKeyOpen(key)) {
                 v.open(false, false);
+                trackOpen(v);
             } else {
                 v.close(false, false);
+                untrackOpen(v);
             }
         }
 
@@ -175,18 +464,19 @@ public class SwipeItemMangerImpl implements SwipeItemMangerInterface {
 
     class SwipeMemory extends SimpleSwipeListener {
 
-        private int position;
+        private long key;
 
-        SwipeMemory(int position) {
-            this.position = position;
+        SwipeMemory(long key) {
+            this.key = key;
         }
 
         @Override
         public void onClose(SwipeLayout layout) {
-            if (mode == Attributes.Mode.Multiple) {
-                mOpenPositions.remove(position);
+            untrackOpen(layout);
+            if (mKeyProvider != null) {
+                mOpenKeys.onClosed(key);
             } else {
-                mOpenPosition = INVALID_POSITION;
+                mOpenItems.onClosed((int) key);
             }
         }
 
@@ -195,20 +485,20 @@ public class SwipeItemMangerImpl implements SwipeItemMangerInterface {
             if (mode == Attributes.Mode.Single) {
                 closeAllExcept(layout);
             }
+            trackOpen(layout);
         }
 
         @Override
         public void onOpen(SwipeLayout layout) {
-            if (mode == Attributes.Mode.Multiple)
-                mOpenPositions.add(position);
-            else {
+            if (mode == Attributes.Mode.Single) {
                 closeAllExcept(layout);
-                mOpenPosition = position;
             }
+            trackOpen(layout);
+            markOpen(key);
         }
 
-        public void setPosition(int position) {
-            this.position = position;
+        public void setKey(long key) {
+            this.key = key;
         }
     }
 
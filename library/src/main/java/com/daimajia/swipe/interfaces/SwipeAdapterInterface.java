@@ -6,4 +6,10 @@ public interface SwipeAdapterInterface {
 
     void notifyDatasetChanged();
 
+    /**
+     * only the swipe state of the {@code itemCount} items starting at {@code positionStart}
+     * changed, adapters that can should rebind just those rows.
+     */
+    void notifySwipeStateChanged(int positionStart, int itemCount);
+
 }
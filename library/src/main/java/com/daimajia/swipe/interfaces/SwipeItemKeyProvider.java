@@ -0,0 +1,14 @@
+package com.daimajia.swipe.interfaces;
+
+/**
+ * Identifies the item at an adapter position by a key that does not change when other items are
+ * inserted, removed or moved, such as a stable item id.
+ */
+public interface SwipeItemKeyProvider {
+
+    /**
+     * @return the key of the item at {@code position}, distinct items must have distinct keys.
+     * Called on every bind and every {@code isOpen}, so it should be cheap.
+     */
+    long getSwipeItemKey(int position);
+}
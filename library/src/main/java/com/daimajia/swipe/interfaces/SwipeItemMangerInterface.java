@@ -15,6 +15,11 @@ public interface SwipeItemMangerInterface {
     
     void closeAllItems();
 
+    /**
+     * @return the open positions. While open state is keyed by a
+     * {@link SwipeItemKeyProvider}, only the open items with a bound row have a known position
+     * and are listed.
+     */
     List<Integer> getOpenItems();
 
     List<SwipeLayout> getOpenLayouts();
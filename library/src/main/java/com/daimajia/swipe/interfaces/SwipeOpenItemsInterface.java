@@ -0,0 +1,25 @@
+package com.daimajia.swipe.interfaces;
+
+import com.daimajia.swipe.core.IntConsumer;
+
+/**
+ * Queries on the open positions that do not box or allocate, safe to call from layout and bind.
+ * While open state is keyed by a {@link SwipeItemKeyProvider}, only the open items with a bound row
+ * are listed.
+ */
+public interface SwipeOpenItemsInterface {
+
+    boolean isOpen(int position);
+
+    /**
+     * hand every open position to {@code consumer}, in no particular order.
+     */
+    void forEachOpen(IntConsumer consumer);
+
+    /**
+     * copy the open positions into {@code out}, as many as fit.
+     *
+     * @return the number of open positions, which may be larger than {@code out.length}.
+     */
+    int getOpenItems(int[] out);
+}
@@ -0,0 +1,53 @@
+package com.daimajia.swipe;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Bytes allocated by the current thread, from the HotSpot ThreadMXBean. Not every JVM counts them,
+ * check {@link #isSupported()} before asserting on a count.
+ */
+class AllocationCounter {
+
+    private final com.sun.management.ThreadMXBean mThreads;
+    private final long mThreadId = Thread.currentThread().getId();
+    //what reading the counter twice costs, taken off every interval
+    private final long mOverhead;
+    private long mStart;
+
+    AllocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            mThreads = (com.sun.management.ThreadMXBean) threads;
+            mThreads.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            mThreads = null;
+        }
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 16; i++) {
+            start();
+            overhead = Math.min(overhead, allocatedBytes() - mStart);
+        }
+        mOverhead = overhead;
+    }
+
+    boolean isSupported() {
+        return mThreads != null;
+    }
+
+    void start() {
+        mStart = allocatedBytes();
+    }
+
+    /**
+     * @return the bytes allocated since {@link #start()}, 0 if allocations are not counted.
+     */
+    long stop() {
+        return Math.max(0, allocatedBytes() - mStart - mOverhead);
+    }
+
+    private long allocatedBytes() {
+        return mThreads == null ? 0 : mThreads.getThreadAllocatedBytes(mThreadId);
+    }
+}
@@ -0,0 +1,121 @@
+package com.daimajia.swipe;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Once a drag is under way, an ACTION_MOVE through onTouchEvent, onViewPositionChanged and the
+ * reveal and swipe listener dispatch must not allocate at all.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SwipeLayoutDragAllocationTest {
+
+    private static final int BOTTOM_ID = 1;
+    private static final int MEASURED_FRAMES = 30;
+    //stays inside the bottom view's width, so no measured frame is clamped
+    private static final float STEP = 6;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        ShadowLooper.pauseMainLooper();
+    }
+
+    @Test
+    public void dragFramesAllocateNothing() {
+        AllocationCounter allocations = new AllocationCounter();
+        assumeTrue("allocations are not counted by this JVM", allocations.isSupported());
+
+        FrameLayout parent = new FrameLayout(mContext);
+        SwipeLayout layout = SwipeRows.newRow(mContext, parent);
+        View bottom = layout.getChildAt(0);
+        bottom.setId(BOTTOM_ID);
+        CountingRevealListener reveals = new CountingRevealListener();
+        layout.addRevealListener(BOTTOM_ID, reveals);
+        CountingSwipeListener updates = new CountingSwipeListener();
+        layout.addSwipeListener(updates);
+
+        //obtained up front, MotionEvent.obtain allocates
+        long downTime = SystemClock.uptimeMillis();
+        float y = SwipeRows.HEIGHT / 2;
+        float x = SwipeRows.WIDTH - 100;
+        MotionEvent down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, x, y, 0);
+        //past the touch slop, so this one claims the drag
+        x -= 4 * STEP;
+        MotionEvent claim = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_MOVE, x, y, 0);
+        //one frame of a drag already claimed, creates whatever the drag path creates lazily
+        x -= STEP;
+        MotionEvent warmUp = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_MOVE, x, y, 0);
+        MotionEvent[] moves = new MotionEvent[MEASURED_FRAMES];
+        for (int i = 0; i < moves.length; i++) {
+            x -= STEP;
+            moves[i] = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_MOVE, x, y, 0);
+        }
+        MotionEvent up = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_UP, x, y, 0);
+
+        parent.dispatchTouchEvent(down);
+        parent.dispatchTouchEvent(claim);
+        parent.dispatchTouchEvent(warmUp);
+        int revealsBefore = reveals.calls, updatesBefore = updates.calls;
+
+        long[] bytes = new long[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            allocations.start();
+            parent.dispatchTouchEvent(moves[i]);
+            bytes[i] = allocations.stop();
+        }
+        parent.dispatchTouchEvent(up);
+
+        assertEquals("onReveal per frame", moves.length, reveals.calls - revealsBefore);
+        assertEquals("onUpdate per frame", moves.length, updates.calls - updatesBefore);
+        for (int i = 0; i < bytes.length; i++) {
+            assertTrue("bytes allocated per drag frame " + Arrays.toString(bytes), bytes[i] == 0);
+        }
+
+        down.recycle();
+        claim.recycle();
+        warmUp.recycle();
+        for (MotionEvent move : moves) {
+            move.recycle();
+        }
+        up.recycle();
+    }
+
+    private static class CountingRevealListener implements SwipeLayout.OnRevealListener {
+        int calls;
+
+        @Override
+        public void onReveal(View child, SwipeLayout.DragEdge edge, float fraction, int distance) {
+            calls++;
+        }
+    }
+
+    private static class CountingSwipeListener extends SimpleSwipeListener {
+        int calls;
+
+        @Override
+        public void onUpdate(SwipeLayout layout, int leftOffset, int topOffset) {
+            calls++;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.daimajia.swipe;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays a scripted swipe through a laid out row, one frame at a time on a paused main looper:
+ * every MotionEvent goes through the parent's dispatchTouchEvent, and so through SwipeLayout's
+ * onInterceptTouchEvent and onTouchEvent, then the looper is advanced by a frame and a layout
+ * pass runs if one was requested. The release settles through a {@link SwipeSettleDriver}.
+ *
+ * Per frame it records the time, the bytes allocated, the layout passes and the listener calls,
+ * prints them as a report and fails when a budget below is exceeded. The time and allocation
+ * budgets are loose on purpose, they are there to catch a drag frame that starts doing real work,
+ * not to benchmark Robolectric; DragReplayBenchmark measures the position math on its own.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SwipeLayoutDragReplayTest {
+
+    private static final long FRAME_MS = 16;
+    private static final int DRAG_FRAMES = 30;
+    private static final int MAX_SETTLE_FRAMES = 120;
+
+    //budgets for the whole swipe, drag and settle
+    private static final int MAX_LAYOUT_PASSES = 4;
+    private static final long MAX_MEAN_FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+    private static final long MAX_MEAN_FRAME_BYTES = 32 * 1024;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        ShadowLooper.pauseMainLooper();
+    }
+
+    @Test
+    public void swipeOpenStaysWithinBudget() {
+        //once on a throwaway row so class loading and the first interpreted runs are not measured
+        replay(new CountingParent(mContext));
+
+        CountingParent parent = new CountingParent(mContext);
+        Report report = replay(parent);
+        System.out.println(report);
+
+        CountingListener listener = report.listener;
+        assertEquals(SwipeLayout.Status.Open, report.layout.getOpenStatus());
+        assertEquals("onStartOpen", 1, listener.startOpen);
+        assertEquals("onOpen", 1, listener.open);
+        assertEquals("onHandRelease", 1, listener.handRelease);
+        assertEquals("onStartClose", 0, listener.startClose);
+        assertEquals("onClose", 0, listener.close);
+        assertTrue("onUpdate called " + listener.update + " times in " + report.frames + " frames",
+                listener.update <= report.frames);
+        assertTrue("layout passes " + report.layoutPasses, report.layoutPasses <= MAX_LAYOUT_PASSES);
+        assertTrue("mean frame time " + report.meanNanos() + "ns", report.meanNanos() <= MAX_MEAN_FRAME_NANOS);
+        if (report.allocationsCounted) {
+            assertTrue("mean frame allocation " + report.meanBytes() + " bytes",
+                    report.meanBytes() <= MAX_MEAN_FRAME_BYTES);
+        }
+    }
+
+    private Report replay(CountingParent parent) {
+        SwipeLayout layout = SwipeRows.newRow(mContext, parent);
+        CountingListener listener = new CountingListener();
+        layout.addSwipeListener(listener);
+        final boolean[] settled = new boolean[1];
+        SwipeSettleDriver driver = new SwipeSettleDriver();
+        driver.setOnSettleCompleteListener(new SwipeSettleDriver.OnSettleCompleteListener() {
+            @Override
+            public void onSettleComplete(List<SwipeLayout> layouts) {
+                settled[0] = true;
+            }
+        });
+        layout.setSettleDriver(driver);
+        parent.layoutPasses = 0;
+
+        Report report = new Report(layout, listener, DRAG_FRAMES + 2 + MAX_SETTLE_FRAMES);
+        long downTime = SystemClock.uptimeMillis();
+        float y = SwipeRows.HEIGHT / 2;
+        float startX = SwipeRows.WIDTH - 100;
+        //drag left by more than the bottom view is wide, easing out like a finger does
+        for (int i = 0; i <= DRAG_FRAMES + 1; i++) {
+            int action;
+            float x;
+            if (i == 0) {
+                action = MotionEvent.ACTION_DOWN;
+                x = startX;
+            } else if (i <= DRAG_FRAMES) {
+                action = MotionEvent.ACTION_MOVE;
+                float t = (float) i / DRAG_FRAMES;
+                x = startX - 1.4f * SwipeRows.BOTTOM_WIDTH * t * (2 - t);
+            } else {
+                action = MotionEvent.ACTION_UP;
+                x = startX - 1.4f * SwipeRows.BOTTOM_WIDTH;
+            }
+            MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+            report.begin();
+            parent.dispatchTouchEvent(event);
+            frame(parent);
+            report.end(parent.layoutPasses);
+            event.recycle();
+        }
+        for (int i = 0; i < MAX_SETTLE_FRAMES && !settled[0]; i++) {
+            report.begin();
+            frame(parent);
+            report.end(parent.layoutPasses);
+        }
+        return report;
+    }
+
+    /**
+     * run what a vsync would: the frame callbacks and messages due, then a traversal if needed.
+     */
+    private static void frame(CountingParent parent) {
+        ShadowLooper.idleMainLooper(FRAME_MS, TimeUnit.MILLISECONDS);
+        if (parent.isLayoutRequested()) {
+            SwipeRows.layout(parent);
+        }
+    }
+
+    private static class CountingParent extends FrameLayout {
+        int layoutPasses;
+
+        CountingParent(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+            super.onLayout(changed, left, top, right, bottom);
+            layoutPasses++;
+        }
+    }
+
+    private static class CountingListener extends SimpleSwipeListener {
+        int startOpen, open, startClose, close, update, handRelease;
+
+        @Override
+        public void onStartOpen(SwipeLayout layout) {
+            startOpen++;
+        }
+
+        @Override
+        public void onOpen(SwipeLayout layout) {
+            open++;
+        }
+
+        @Override
+        public void onStartClose(SwipeLayout layout) {
+            startClose++;
+        }
+
+        @Override
+        public void onClose(SwipeLayout layout) {
+            close++;
+        }
+
+        @Override
+        public void onUpdate(SwipeLayout layout, int leftOffset, int topOffset) {
+            update++;
+        }
+
+        @Override
+        public void onHandRelease(SwipeLayout layout, float xvel, float yvel) {
+            handRelease++;
+        }
+    }
+
+    private static class Report {
+        final SwipeLayout layout;
+        final CountingListener listener;
+        final long[] nanos, bytes;
+        final int[] layoutPassesAt, listenerCallsAt;
+        final boolean allocationsCounted;
+        private final AllocationCounter mAllocations = new AllocationCounter();
+        int frames, layoutPasses;
+        private long mStartNanos;
+
+        Report(SwipeLayout layout, CountingListener listener, int maxFrames) {
+            this.layout = layout;
+            this.listener = listener;
+            nanos = new long[maxFrames];
+            bytes = new long[maxFrames];
+            layoutPassesAt = new int[maxFrames];
+            listenerCallsAt = new int[maxFrames];
+            allocationsCounted = mAllocations.isSupported();
+        }
+
+        void begin() {
+            mAllocations.start();
+            mStartNanos = System.nanoTime();
+        }
+
+        void end(int layoutPasses) {
+            nanos[frames] = System.nanoTime() - mStartNanos;
+            bytes[frames] = mAllocations.stop();
+            layoutPassesAt[frames] = layoutPasses - this.layoutPasses;
+            listenerCallsAt[frames] = listenerCalls();
+            this.layoutPasses = layoutPasses;
+            frames++;
+        }
+
+        private int listenerCalls() {
+            return listener.startOpen + listener.open + listener.startClose + listener.close
+                    + listener.update + listener.handRelease;
+        }
+
+        long meanNanos() {
+            long total = 0;
+            for (int i = 0; i < frames; i++) total += nanos[i];
+            return frames == 0 ? 0 : total / frames;
+        }
+
+        long meanBytes() {
+            long total = 0;
+            for (int i = 0; i < frames; i++) total += bytes[i];
+            return frames == 0 ? 0 : total / frames;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("frame\ttime(us)\tallocated(B)\tlayouts\tlistener calls\n");
+            int previousCalls = 0;
+            for (int i = 0; i < frames; i++) {
+                sb.append(i).append('\t').append(nanos[i] / 1000).append('\t').append(bytes[i]).append('\t')
+                        .append(layoutPassesAt[i]).append('\t').append(listenerCallsAt[i] - previousCalls).append('\n');
+                previousCalls = listenerCallsAt[i];
+            }
+            sb.append("mean\t").append(meanNanos() / 1000).append('\t').append(meanBytes()).append('\t')
+                    .append(layoutPasses).append('\t').append(previousCalls);
+            return sb.toString();
+        }
+    }
+}
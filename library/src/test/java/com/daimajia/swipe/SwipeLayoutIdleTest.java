@@ -0,0 +1,108 @@
+package com.daimajia.swipe;
+
+import android.content.Context;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * A row that is bound and laid out but never touched must not pay for the drag machinery. Measures
+ * the bytes an idle row allocates, see the note next to SwipeLayout's shared empty arrays.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SwipeLayoutIdleTest {
+
+    private static final String[] LAZY_HELPERS = {"mDragHelper", "gestureDetector", "mViewBoundCache"};
+
+    //ceiling for constructing, measuring and laying out an idle row with one swipe listener, two
+    //plain children and its parent, as counted on the JVM running Robolectric
+    static final long IDLE_ROW_BYTES = 16 * 1024;
+    private static final int MEASURED_ROWS = 9;
+
+    @Test
+    public void idleRowAllocatesNoHelpers() throws Exception {
+        SwipeLayout layout = SwipeRows.newRow(RuntimeEnvironment.application);
+        layout.addSwipeListener(new SimpleSwipeListener());
+        layout.close(false, false);
+        SwipeRows.layout((android.view.View) layout.getParent());
+
+        for (String name : LAZY_HELPERS) {
+            assertNull(name + " allocated by an idle row", field(layout, name));
+        }
+    }
+
+    @Test
+    public void helpersAreCreatedOnFirstUse() throws Exception {
+        SwipeLayout layout = SwipeRows.newRow(RuntimeEnvironment.application);
+        layout.setClickToClose(true);
+        layout.open(true);
+
+        assertNotNull(field(layout, "mDragHelper"));
+        assertNotNull(field(layout, "gestureDetector"));
+    }
+
+    @Test
+    public void idleRowStaysWithinBudget() {
+        AllocationCounter allocations = new AllocationCounter();
+        assumeTrue("allocations are not counted by this JVM", allocations.isSupported());
+        Context context = RuntimeEnvironment.application;
+        //once so class loading and the first interpreted runs are not measured
+        idleRow(context);
+        touchedRow(context);
+
+        long idle = medianBytes(allocations, context, false);
+        long touched = medianBytes(allocations, context, true);
+        System.out.println("idle row " + idle + " bytes, a row that was opened " + touched + " bytes");
+
+        assertTrue("idle row allocates " + idle + " bytes", idle <= IDLE_ROW_BYTES);
+        assertTrue("opening a row costs nothing over an idle one, " + touched + " bytes", touched > idle);
+    }
+
+    private static long medianBytes(AllocationCounter allocations, Context context, boolean touched) {
+        long[] bytes = new long[MEASURED_ROWS];
+        for (int i = 0; i < bytes.length; i++) {
+            allocations.start();
+            if (touched) {
+                touchedRow(context);
+            } else {
+                idleRow(context);
+            }
+            bytes[i] = allocations.stop();
+        }
+        Arrays.sort(bytes);
+        return bytes[bytes.length / 2];
+    }
+
+    private static SwipeLayout idleRow(Context context) {
+        SwipeLayout layout = SwipeRows.newRow(context);
+        layout.addSwipeListener(new SimpleSwipeListener());
+        return layout;
+    }
+
+    //the same row once the drag helper and the gesture detector exist
+    private static SwipeLayout touchedRow(Context context) {
+        SwipeLayout layout = idleRow(context);
+        layout.setClickToClose(true);
+        layout.open(true);
+        layout.close(false, false);
+        return layout;
+    }
+
+    private static Object field(SwipeLayout layout, String name) throws Exception {
+        Field field = SwipeLayout.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(layout);
+    }
+}
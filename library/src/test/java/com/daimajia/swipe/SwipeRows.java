@@ -0,0 +1,40 @@
+package com.daimajia.swipe;
+
+import android.content.Context;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+/**
+ * Builds and lays out the kind of row a list of swipe items shows: a surface over a bottom view
+ * on the right edge.
+ */
+public class SwipeRows {
+
+    public static final int WIDTH = 1080, HEIGHT = 180, BOTTOM_WIDTH = 360;
+
+    public static SwipeLayout newRow(Context context) {
+        return newRow(context, new FrameLayout(context));
+    }
+
+    /**
+     * @param parent gets the row, so requestDisallowInterceptTouchEvent has somewhere to go.
+     */
+    public static SwipeLayout newRow(Context context, FrameLayout parent) {
+        SwipeLayout layout = new SwipeLayout(context);
+        View bottom = new View(context);
+        layout.addView(bottom, new FrameLayout.LayoutParams(BOTTOM_WIDTH, ViewGroup.LayoutParams.MATCH_PARENT, Gravity.RIGHT));
+        View surface = new View(context);
+        layout.addView(surface, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        parent.addView(layout, new FrameLayout.LayoutParams(WIDTH, HEIGHT));
+        layout(parent);
+        return layout;
+    }
+
+    public static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH, HEIGHT);
+    }
+}
@@ -0,0 +1,99 @@
+package com.daimajia.swipe.implments;
+
+import android.content.Context;
+
+import com.daimajia.swipe.BuildConfig;
+import com.daimajia.swipe.SwipeLayout;
+import com.daimajia.swipe.SwipeRows;
+import com.daimajia.swipe.interfaces.SwipeAdapterInterface;
+import com.daimajia.swipe.util.Attributes;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 23)
+public class SwipeItemMangerImplTest {
+
+    private static final int ROW_ID = 1;
+
+    private Context mContext;
+    private SwipeItemMangerImpl mManger;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        mManger = new SwipeItemMangerImpl(new SwipeAdapterInterface() {
+            @Override
+            public int getSwipeLayoutResourceId(int position) {
+                return ROW_ID;
+            }
+
+            @Override
+            public void notifyDatasetChanged() {
+            }
+
+            @Override
+            public void notifySwipeStateChanged(int positionStart, int itemCount) {
+            }
+        });
+    }
+
+    @Test
+    public void reboundRowFollowsShiftsAfterRemoveShownLayouts() {
+        SwipeLayout row = newRow();
+        mManger.bind(row, 3);
+        //what the delete pattern does right before notifyItemRemoved
+        mManger.removeShownLayouts(row);
+        mManger.bind(row, 3);
+
+        mManger.onItemRangeRemoved(0, 1);
+        assertEquals(2, mManger.getPosition(row));
+
+        //swiping the row opens the item it shows now
+        row.open(false, true);
+        assertTrue(mManger.isOpen(2));
+        assertFalse(mManger.isOpen(3));
+    }
+
+    @Test
+    public void reboundRowFollowsShiftsAfterSetMode() {
+        SwipeLayout row = newRow();
+        mManger.bind(row, 3);
+        mManger.setMode(Attributes.Mode.Multiple);
+        mManger.bind(row, 3);
+
+        mManger.onItemRangeInserted(0, 2);
+        assertEquals(5, mManger.getPosition(row));
+        row.open(false, true);
+        assertTrue(mManger.isOpen(5));
+    }
+
+    @Test
+    public void setModeClosesOpenRows() {
+        SwipeLayout first = newRow(), second = newRow();
+        mManger.setMode(Attributes.Mode.Multiple);
+        mManger.bind(first, 0);
+        mManger.bind(second, 1);
+        first.open(false, true);
+        second.open(false, true);
+
+        mManger.setMode(Attributes.Mode.Single);
+        assertEquals(SwipeLayout.Status.Close, first.getOpenStatus());
+        assertEquals(SwipeLayout.Status.Close, second.getOpenStatus());
+    }
+
+    private SwipeLayout newRow() {
+        SwipeLayout row = SwipeRows.newRow(mContext);
+        row.setId(ROW_ID);
+        return row;
+    }
+}